@@ -0,0 +1,65 @@
+package com.example.weather.benchmark;
+
+import com.example.weather.model.WeatherData;
+import com.example.weather.model.WeatherResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Open-Meteo response to {@link WeatherData}: the boxed list POJO path against the
+ * token-streaming columnar deserializer. Run with {@code -prof gc} for allocation rates.
+ * <p>
+ * The lengths compare the default {@code forecast_hours} of 48 with Open-Meteo's own
+ * default of seven days and its 16-day maximum; the payload size is printed at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HourlyDeserializationBenchmark {
+
+    @Param({"48", "168", "384"})
+    int hours;
+
+    private byte[] payload;
+    private ObjectReader legacyReader;
+    private ObjectReader columnarReader;
+
+    @Setup
+    public void setUp() {
+        payload = OpenMeteoPayloads.forecast(hours).getBytes(StandardCharsets.UTF_8);
+        System.out.printf("%n%d hours: %d bytes of JSON%n", hours, payload.length);
+        var mapper = new ObjectMapper();
+        legacyReader = mapper.readerFor(LegacyWeatherResponse.class);
+        columnarReader = mapper.readerFor(WeatherResponse.class);
+    }
+
+    @Benchmark
+    public WeatherData boxedPojo() throws IOException {
+        LegacyWeatherResponse response = legacyReader.readValue(payload);
+        return response.toWeatherData("Helsinki");
+    }
+
+    @Benchmark
+    public WeatherData streamingColumnar() throws IOException {
+        WeatherResponse response = columnarReader.readValue(payload);
+        return new WeatherData("Helsinki", response.getLatitude(), response.getLongitude(),
+                response.getHourly().getSeries());
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.weather.benchmark;
+
+import com.example.weather.model.WeatherData;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+/**
+ * The list-based response POJO and conversion used before the columnar path,
+ * kept as the baseline for benchmarks.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class LegacyWeatherResponse {
+
+    public double latitude;
+    public double longitude;
+    public String timezone;
+    public HourlyData hourly;
+
+    public static class HourlyData {
+        public List<String> time;
+        @JsonProperty("temperature_2m")
+        public List<Double> temperature2m;
+        @JsonProperty("weather_code")
+        public List<Integer> weatherCode;
+    }
+
+    public WeatherData toWeatherData(String cityName) {
+        var hourlyWeatherList = Optional.ofNullable(hourly)
+                .map(LegacyWeatherResponse::convertHourlyData)
+                .orElse(List.of());
+        return new WeatherData(cityName, latitude, longitude, hourlyWeatherList);
+    }
+
+    public static List<WeatherData.HourlyWeather> convertHourlyData(HourlyData hourly) {
+        var times = Optional.ofNullable(hourly.time).orElse(List.of());
+        var temperatures = Optional.ofNullable(hourly.temperature2m).orElse(List.of());
+        var weatherCodes = Optional.ofNullable(hourly.weatherCode).orElse(List.of());
+
+        int minSize = List.of(times.size(), temperatures.size(), weatherCodes.size())
+                .stream()
+                .mapToInt(Integer::intValue)
+                .min()
+                .orElse(0);
+
+        return IntStream.range(0, minSize)
+                .mapToObj(i -> new WeatherData.HourlyWeather(
+                    times.get(i),
+                    temperatures.get(i),
+                    weatherCodes.get(i)
+                ))
+                .toList();
+    }
+}
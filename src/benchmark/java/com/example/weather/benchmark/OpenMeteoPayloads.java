@@ -0,0 +1,45 @@
+package com.example.weather.benchmark;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Builds Open-Meteo forecast responses of a given length, shaped like the real API output.
+ */
+public final class OpenMeteoPayloads {
+
+    private static final int[] WEATHER_CODES = {0, 1, 2, 3, 45, 51, 61, 63, 71, 80, 95};
+
+    private OpenMeteoPayloads() {
+    }
+
+    /**
+     * A 16-day forecast, the longest horizon Open-Meteo offers: 384 hours.
+     */
+    public static String forecast(int hours) {
+        var random = new Random(42);
+        var start = LocalDateTime.of(2025, 9, 5, 0, 0);
+        var formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+
+        var times = IntStream.range(0, hours)
+                .mapToObj(hour -> "\"" + start.plusHours(hour).format(formatter) + "\"")
+                .collect(Collectors.joining(","));
+        var temperatures = IntStream.range(0, hours)
+                .mapToObj(hour -> "%.1f".formatted(12 + 8 * Math.sin(hour * Math.PI / 12) + random.nextGaussian())
+                        .replace(',', '.'))
+                .collect(Collectors.joining(","));
+        var weatherCodes = IntStream.range(0, hours)
+                .mapToObj(hour -> Integer.toString(WEATHER_CODES[random.nextInt(WEATHER_CODES.length)]))
+                .collect(Collectors.joining(","));
+
+        return """
+            {"latitude":60.16,"longitude":24.94,"generationtime_ms":0.0629425048828125,\
+            "utc_offset_seconds":10800,"timezone":"Europe/Helsinki","timezone_abbreviation":"GMT+3",\
+            "elevation":9.0,"hourly_units":{"time":"iso8601","temperature_2m":"°C","weather_code":"wmo code"},\
+            "hourly":{"time":[%s],"temperature_2m":[%s],"weather_code":[%s]}}"""
+                .formatted(times, temperatures, weatherCodes);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.weather.benchmark;
+
+import com.example.weather.model.HourlySeries;
+import com.example.weather.model.WeatherData;
+import com.example.weather.model.WeatherResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot paths of the weather model once a forecast has been fetched: conversion, record
+ * construction, derived getters and JSON output. Each measurement exists for both the
+ * record list and the columnar {@link HourlySeries} so regressions in either show up.
+ * Run with {@code -prof gc} for allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WeatherDataBenchmark {
+
+    @Param({"24", "384"})
+    int hours;
+
+    private LegacyWeatherResponse.HourlyData boxedHourly;
+    private List<WeatherData.HourlyWeather> mutableRecords;
+    private WeatherData recordData;
+    private WeatherData columnarData;
+    private ObjectWriter writer;
+
+    @Setup
+    public void setUp() throws IOException {
+        var mapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS); // Quarkus default
+        var payload = OpenMeteoPayloads.forecast(hours);
+
+        LegacyWeatherResponse legacy = mapper.readValue(payload, LegacyWeatherResponse.class);
+        WeatherResponse response = mapper.readValue(payload, WeatherResponse.class);
+        boxedHourly = legacy.hourly;
+        mutableRecords = new ArrayList<>(LegacyWeatherResponse.convertHourlyData(boxedHourly));
+        recordData = new WeatherData("Helsinki", 60.1699, 24.9384, mutableRecords);
+        columnarData = new WeatherData("Helsinki", 60.1699, 24.9384, response.getHourly().getSeries());
+        writer = mapper.writerFor(WeatherData.class);
+    }
+
+    @Benchmark
+    public List<WeatherData.HourlyWeather> convertHourlyDataBoxed() {
+        return LegacyWeatherResponse.convertHourlyData(boxedHourly);
+    }
+
+    @Benchmark
+    public WeatherData constructWithListCopy() {
+        return new WeatherData("Helsinki", 60.1699, 24.9384, mutableRecords);
+    }
+
+    @Benchmark
+    public WeatherData constructWithSeries() {
+        return new WeatherData("Helsinki", 60.1699, 24.9384, columnarData.hourlyWeather());
+    }
+
+    @Benchmark
+    public void weatherDescriptionRecords(Blackhole blackhole) {
+        for (var hour : recordData.hourlyWeather()) {
+            blackhole.consume(hour.getWeatherDescription());
+        }
+    }
+
+    @Benchmark
+    public void weatherDescriptionSeries(Blackhole blackhole) {
+        for (var hour : columnarData.hourlyWeather()) {
+            blackhole.consume(hour.getWeatherDescription());
+        }
+    }
+
+    @Benchmark
+    public OptionalDouble averageTemperatureRecords() {
+        return recordData.getAverageTemperature();
+    }
+
+    @Benchmark
+    public OptionalDouble averageTemperatureSeries() {
+        return columnarData.getAverageTemperature();
+    }
+
+    @Benchmark
+    public byte[] serializeRecords() throws IOException {
+        return writer.writeValueAsBytes(recordData);
+    }
+
+    @Benchmark
+    public byte[] serializeSeries() throws IOException {
+        return writer.writeValueAsBytes(columnarData);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.weather.service;
+
+import com.example.weather.model.City;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading and querying a GeoNames-style city file of {@code cities} synthetic rows
+ * (19 columns, as in the GeoNames dumps). Loading is timed as a single shot per iteration;
+ * the dataset's heap footprint is printed once the trial ends.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class CityDatasetBenchmark {
+
+    @Param({"1000000"})
+    int cities;
+
+    private Path file;
+    private CityDataset dataset;
+    private String[] codes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("cities", ".txt");
+        var random = new SplittableRandom(42);
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            for (int i = 0; i < cities; i++) {
+                var name = name(i);
+                var latitude = random.nextInt(-9_000_000, 9_000_001) / 100_000.0;
+                var longitude = random.nextInt(-18_000_000, 18_000_001) / 100_000.0;
+                writer.write(String.join("\t", String.valueOf(i), name, name, name + ",Alt " + i,
+                        String.format(Locale.ROOT, "%.5f", latitude), String.format(Locale.ROOT, "%.5f", longitude), "P", "PPL", "FI", "", "01",
+                        "", "", "", String.valueOf(random.nextInt(1_000_000)), "", "12", "Europe/Helsinki", "2024-01-01"));
+                writer.newLine();
+            }
+        }
+        // Codes spread over the file, so lookups do not all hit the same cache lines
+        codes = new String[1024];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = name((int) ((long) i * cities / codes.length)).toLowerCase(Locale.ROOT);
+        }
+        dataset = CityDataset.load(file);
+    }
+
+    private static String name(int i) {
+        return "City " + Integer.toString(i, 36).toUpperCase(Locale.ROOT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.out.printf("%n%d cities, %d distinct codes, %.1f MB of arrays, file %.1f MB%n",
+                dataset.size(), dataset.indexedCodes(), dataset.footprintBytes() / 1e6, Files.size(file) / 1e6);
+        Files.delete(file);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public CityDataset load() throws IOException {
+        return CityDataset.load(file);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public City find() {
+        return dataset.find(codes[next++ & (codes.length - 1)]);
+    }
+}
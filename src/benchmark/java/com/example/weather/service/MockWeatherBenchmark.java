@@ -0,0 +1,76 @@
+package com.example.weather.service;
+
+import com.example.weather.model.City;
+import com.example.weather.model.WeatherData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Mock forecast generation for one city. Lives in the service package to reach the
+ * package-private generator without going through CDI.
+ * <p>
+ * Log output is silenced so the numbers show generation cost rather than console I/O.
+ * <p>
+ * All threads share one service, as request threads do, so comparing the single-threaded
+ * score with the all-cores score (one thread per available processor) shows whether
+ * generation scales or contends on shared state.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.jboss.logging.provider=jdk")
+public class MockWeatherBenchmark {
+
+    private final City city = new City("Helsinki", 60.1699, 24.9384);
+    private final MockWeatherService service = new MockWeatherService();
+    private final MockWeatherService precomputedService = new MockWeatherService();
+
+    @Param({"false", "true"})
+    boolean seeded;
+
+    // Held strongly so the level survives garbage collection of the JUL logger
+    private java.util.logging.Logger serviceLogger;
+
+    @Setup
+    public void setUp() {
+        serviceLogger = java.util.logging.Logger.getLogger("com.example.weather");
+        serviceLogger.setLevel(Level.WARNING);
+        service.seed = seeded ? Optional.of(42L) : Optional.empty();
+        precomputedService.seed = service.seed;
+        precomputedService.precomputed = true;
+    }
+
+    @Benchmark
+    public WeatherData generateMockWeatherData() {
+        return service.generateMockWeatherData(city);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public WeatherData generateMockWeatherDataAllCores() {
+        return service.generateMockWeatherData(city);
+    }
+
+    /**
+     * Lookup of the forecast table of the current hour, as served with weather.mock.precomputed.
+     */
+    @Benchmark
+    public WeatherData precomputedForecast() {
+        return precomputedService.forecastFor(city);
+    }
+}
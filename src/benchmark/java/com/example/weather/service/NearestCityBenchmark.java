@@ -0,0 +1,101 @@
+package com.example.weather.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nearest-city queries against a k-d tree of {@code cities} points spread uniformly over the
+ * sphere, with building the tree and a linear scan for comparison.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class NearestCityBenchmark {
+
+    @Param({"1000000"})
+    int cities;
+
+    @Param({"1", "10"})
+    int limit;
+
+    private double[] latitudes;
+    private double[] longitudes;
+    private KdTree tree;
+    private final double[] queries = new double[2 * 1024];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var random = new SplittableRandom(42);
+        latitudes = new double[cities];
+        longitudes = new double[cities];
+        for (int i = 0; i < cities; i++) {
+            // Uniform over the surface rather than over latitude, which would crowd the poles
+            latitudes[i] = Math.toDegrees(Math.asin(random.nextDouble(-1, 1)));
+            longitudes[i] = random.nextDouble(-180, 180);
+        }
+        for (int i = 0; i < queries.length; i += 2) {
+            queries[i] = Math.toDegrees(Math.asin(random.nextDouble(-1, 1)));
+            queries[i + 1] = random.nextDouble(-180, 180);
+        }
+        tree = new KdTree(latitudes, longitudes);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public KdTree.Neighbours nearest() {
+        var query = (next++ & 1023) * 2;
+        return tree.nearest(queries[query], queries[query + 1], limit);
+    }
+
+    /**
+     * Nearest city by scanning every point, as a baseline for the tree.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 2, time = 2)
+    @Measurement(iterations = 3, time = 2)
+    public int linearScan() {
+        var query = (next++ & 1023) * 2;
+        var phi = Math.toRadians(queries[query]);
+        var lambda = Math.toRadians(queries[query + 1]);
+        var best = -1;
+        var bestDistance = Double.MAX_VALUE;
+        for (int i = 0; i < cities; i++) {
+            // Haversine without the final arcsine, which keeps the order
+            var dPhi = Math.toRadians(latitudes[i]) - phi;
+            var dLambda = Math.toRadians(longitudes[i]) - lambda;
+            var a = Math.pow(Math.sin(dPhi / 2), 2)
+                    + Math.cos(phi) * Math.cos(Math.toRadians(latitudes[i])) * Math.pow(Math.sin(dLambda / 2), 2);
+            if (a < bestDistance) {
+                bestDistance = a;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public KdTree build() {
+        return new KdTree(latitudes, longitudes);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.weather.health;
+
+import com.example.weather.service.ForecastWarmup;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+/**
+ * Reports the application as not ready while the startup forecast warm-up is running,
+ * so a rolling deploy does not route traffic to an instance with a cold cache.
+ */
+@Readiness
+@ApplicationScoped
+public class WarmupReadinessCheck implements HealthCheck {
+
+    @Inject
+    ForecastWarmup forecastWarmup;
+
+    @Override
+    public HealthCheckResponse call() {
+        var stats = forecastWarmup.stats();
+        var response = HealthCheckResponse.named("forecast-warm-up")
+                .status(stats.isFinished())
+                .withData("state", stats.state().name())
+                .withData("cities", stats.cities())
+                .withData("warmed", stats.warmed());
+        if (stats.durationMillis() != null) {
+            response.withData("durationMillis", stats.durationMillis());
+        }
+        return response.build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.weather.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Immutable snapshot of forecast cache counters.
+ * Counters are cumulative since application start; stale hits are included in hits.
+ */
+public record CacheStats(
+    @JsonProperty("hits") long hits,
+    @JsonProperty("staleHits") long staleHits,
+    @JsonProperty("misses") long misses,
+    @JsonProperty("evictions") long evictions,
+    @JsonProperty("size") int size
+) {
+
+    /**
+     * Share of lookups served from the cache, or 0 when nothing has been looked up yet.
+     */
+    @JsonProperty("hitRate")
+    public double hitRate() {
+        var lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.weather.model;
+
+import java.time.Instant;
+
+/**
+ * Forecast as held by the cache, together with its freshness boundaries.
+ * Past {@code staleAt} the forecast is still served but should be refreshed;
+ * past {@code expiresAt} it must not be served at all.
+ */
+public record CachedForecast(
+    WeatherData data,
+    Instant fetchedAt,
+    Instant staleAt,
+    Instant expiresAt
+) {
+
+    public CachedForecast {
+        if (data == null) {
+            throw new IllegalArgumentException("Weather data cannot be null");
+        }
+        if (staleAt.isBefore(fetchedAt) || expiresAt.isBefore(staleAt)) {
+            throw new IllegalArgumentException("Freshness boundaries must satisfy fetchedAt <= staleAt <= expiresAt");
+        }
+    }
+
+    public boolean isStale(Instant now) {
+        return !now.isBefore(staleAt);
+    }
+
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.weather.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Immutable snapshot of the Open-Meteo circuit breaker. The counters are cumulative since
+ * application start; rejected calls are the ones failed fast without reaching Open-Meteo.
+ */
+public record CircuitBreakerStats(
+    @JsonProperty("state") State state,
+    @JsonProperty("consecutiveFailures") int consecutiveFailures,
+    @JsonProperty("opened") long opened,
+    @JsonProperty("rejected") long rejected
+) {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.weather.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Outcome of one city in a bulk weather request: either the weather data or an error message.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CityWeatherResult(
+    @JsonProperty("weather") WeatherData weather,
+    @JsonProperty("error") String error
+) {
+
+    public CityWeatherResult {
+        if ((weather == null) == (error == null)) {
+            throw new IllegalArgumentException("Exactly one of weather and error must be set");
+        }
+    }
+
+    public static CityWeatherResult success(WeatherData weather) {
+        return new CityWeatherResult(weather, null);
+    }
+
+    public static CityWeatherResult failure(String error) {
+        return new CityWeatherResult(null, error);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.weather.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Immutable snapshot of the upstream hedging counters, cumulative since application start.
+ * A hedge wins when it answers before the call it was sent for; the delay is the current
+ * wait before a hedge is sent.
+ */
+public record HedgeStats(
+    @JsonProperty("calls") long calls,
+    @JsonProperty("hedged") long hedged,
+    @JsonProperty("hedgeWins") long hedgeWins,
+    @JsonProperty("delayMillis") long delayMillis
+) {
+}
@@ -0,0 +1,135 @@
+package com.example.weather.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Token-streaming deserializer for the Open-Meteo {@code hourly} object.
+ * <p>
+ * The {@code time}, {@code temperature_2m} and {@code weather_code} arrays are read
+ * directly into primitive columns and zipped into a {@link HourlySeries}, so no
+ * {@code List<Double>}, {@code List<Integer>} or per-hour time strings are created.
+ * Columns may arrive in any order and unknown variables are skipped. The series ends
+ * at the shortest column or at the first hour with a missing ({@code null}) value.
+ */
+public class HourlyDataDeserializer extends StdDeserializer<WeatherResponse.HourlyData> {
+
+    private static final long MISSING_TIME = Long.MIN_VALUE;
+    private static final byte MISSING_CODE = -1;
+    // Covers the default 48-hour horizon; longer forecasts grow the columns by doubling
+    private static final int INITIAL_CAPACITY = 64;
+
+    public HourlyDataDeserializer() {
+        super(WeatherResponse.HourlyData.class);
+    }
+
+    @Override
+    public WeatherResponse.HourlyData deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            return (WeatherResponse.HourlyData) context.handleUnexpectedToken(WeatherResponse.HourlyData.class, parser);
+        }
+
+        long[] times = new long[0];
+        double[] temperatures = new double[0];
+        byte[] weatherCodes = new byte[0];
+        int timeCount = 0;
+        int temperatureCount = 0;
+        int weatherCodeCount = 0;
+
+        for (var field = parser.nextFieldName(); field != null; field = parser.nextFieldName()) {
+            var token = parser.nextToken();
+            if (token == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            if (token != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                continue;
+            }
+            switch (field) {
+                case "time" -> {
+                    times = new long[INITIAL_CAPACITY];
+                    for (timeCount = 0; parser.nextToken() != JsonToken.END_ARRAY; timeCount++) {
+                        times = ensureCapacity(times, timeCount);
+                        times[timeCount] = readTime(parser, context);
+                    }
+                }
+                case "temperature_2m" -> {
+                    temperatures = new double[INITIAL_CAPACITY];
+                    for (temperatureCount = 0; parser.nextToken() != JsonToken.END_ARRAY; temperatureCount++) {
+                        temperatures = ensureCapacity(temperatures, temperatureCount);
+                        temperatures[temperatureCount] = parser.currentToken() == JsonToken.VALUE_NULL
+                                ? Double.NaN
+                                : parser.getDoubleValue();
+                    }
+                }
+                case "weather_code" -> {
+                    weatherCodes = new byte[INITIAL_CAPACITY];
+                    for (weatherCodeCount = 0; parser.nextToken() != JsonToken.END_ARRAY; weatherCodeCount++) {
+                        weatherCodes = ensureCapacity(weatherCodes, weatherCodeCount);
+                        weatherCodes[weatherCodeCount] = readWeatherCode(parser, context);
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        var hours = Math.min(timeCount, Math.min(temperatureCount, weatherCodeCount));
+        for (int i = 0; i < hours; i++) {
+            if (times[i] == MISSING_TIME || Double.isNaN(temperatures[i]) || weatherCodes[i] == MISSING_CODE) {
+                hours = i;
+                break;
+            }
+        }
+        // The columns become the series' storage and stay cached with it, so spare capacity is trimmed
+        return new WeatherResponse.HourlyData(HourlySeries.wrap(
+                trim(times, hours), trim(temperatures, hours), trim(weatherCodes, hours), hours));
+    }
+
+    private static byte readWeatherCode(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return MISSING_CODE;
+        }
+        var code = parser.getIntValue();
+        if (code < 0 || code > 99) {
+            throw context.weirdNumberException(code, byte.class, "Weather code must be between 0 and 99");
+        }
+        return (byte) code;
+    }
+
+    private static long readTime(JsonParser parser, DeserializationContext context) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_NULL -> MISSING_TIME;
+            case VALUE_STRING -> HourlySeries.parseTime(
+                    parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            default -> (long) context.handleUnexpectedToken(long.class, parser);
+        };
+    }
+
+    private static long[] trim(long[] values, int size) {
+        return values.length == size ? values : Arrays.copyOf(values, size);
+    }
+
+    private static double[] trim(double[] values, int size) {
+        return values.length == size ? values : Arrays.copyOf(values, size);
+    }
+
+    private static byte[] trim(byte[] values, int size) {
+        return values.length == size ? values : Arrays.copyOf(values, size);
+    }
+
+    private static long[] ensureCapacity(long[] values, int index) {
+        return index < values.length ? values : Arrays.copyOf(values, values.length * 2);
+    }
+
+    private static double[] ensureCapacity(double[] values, int index) {
+        return index < values.length ? values : Arrays.copyOf(values, values.length * 2);
+    }
+
+    private static byte[] ensureCapacity(byte[] values, int index) {
+        return index < values.length ? values : Arrays.copyOf(values, values.length * 2);
+    }
+}
@@ -0,0 +1,286 @@
+package com.example.weather.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.OptionalDouble;
+import java.util.RandomAccess;
+
+/**
+ * Columnar, immutable hourly forecast stored in primitive arrays instead of one
+ * {@link WeatherData.HourlyWeather} record per hour.
+ * <p>
+ * Times are local forecast times encoded as epoch seconds at UTC, so they round-trip
+ * to the same {@code yyyy-MM-dd'T'HH:mm} strings Open-Meteo returns. The series is a
+ * read-only {@code List<HourlyWeather>} whose elements are created on access, and it
+ * serializes straight from the arrays to the same JSON shape as the record list.
+ */
+@JsonSerialize(using = HourlySeries.Serializer.class)
+public final class HourlySeries extends AbstractList<WeatherData.HourlyWeather> implements RandomAccess {
+
+    private static final HourlySeries EMPTY = new HourlySeries(new long[0], new double[0], new byte[0], 0);
+
+    private final long[] epochSeconds;
+    private final double[] temperatures;
+    private final byte[] weatherCodes;
+    private final int size;
+
+    private HourlySeries(long[] epochSeconds, double[] temperatures, byte[] weatherCodes, int size) {
+        this.epochSeconds = epochSeconds;
+        this.temperatures = temperatures;
+        this.weatherCodes = weatherCodes;
+        this.size = size;
+    }
+
+    public static HourlySeries empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Takes ownership of already validated and trimmed columns; used by
+     * {@link HourlyDataDeserializer} to avoid copying what it has just parsed.
+     */
+    static HourlySeries wrap(long[] epochSeconds, double[] temperatures, byte[] weatherCodes, int size) {
+        return size == 0 ? EMPTY : new HourlySeries(epochSeconds, temperatures, weatherCodes, size);
+    }
+
+    /**
+     * The first {@code hours} hours of this series, sharing its columns.
+     */
+    public HourlySeries first(int hours) {
+        if (hours >= size) {
+            return this;
+        }
+        return hours <= 0 ? EMPTY : new HourlySeries(epochSeconds, temperatures, weatherCodes, hours);
+    }
+
+    public static Builder builder(int expectedHours) {
+        return new Builder(expectedHours);
+    }
+
+    @Override
+    public WeatherData.HourlyWeather get(int index) {
+        checkIndex(index);
+        return new WeatherData.HourlyWeather(formatTime(epochSeconds[index]), temperatures[index], weatherCodes[index]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public long epochSecond(int index) {
+        checkIndex(index);
+        return epochSeconds[index];
+    }
+
+    public double temperature(int index) {
+        checkIndex(index);
+        return temperatures[index];
+    }
+
+    public int weatherCode(int index) {
+        checkIndex(index);
+        return weatherCodes[index];
+    }
+
+    public OptionalDouble averageTemperature() {
+        return size == 0 ? OptionalDouble.empty() : Arrays.stream(temperatures, 0, size).average();
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+    }
+
+    /**
+     * Converts an ISO local date-time such as {@code 2025-09-05T12:00} to its column value.
+     */
+    public static long toEpochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Parses {@code yyyy-MM-dd'T'HH:mm} from a character range without allocating.
+     * Other ISO local date-time forms fall back to {@link LocalDateTime#parse}.
+     */
+    public static long parseTime(char[] chars, int offset, int length) {
+        if (length != 16 || chars[offset + 4] != '-' || chars[offset + 7] != '-'
+                || chars[offset + 10] != 'T' || chars[offset + 13] != ':') {
+            return toEpochSecond(LocalDateTime.parse(new String(chars, offset, length)));
+        }
+        var year = parseDigits(chars, offset, 4);
+        var month = parseDigits(chars, offset + 5, 2);
+        var day = parseDigits(chars, offset + 8, 2);
+        var hour = parseDigits(chars, offset + 11, 2);
+        var minute = parseDigits(chars, offset + 14, 2);
+        if (month < 1 || month > 12 || day < 1 || day > Month.of(month).length(Year.isLeap(year))
+                || hour > 23 || minute > 59) {
+            return toEpochSecond(LocalDateTime.parse(new String(chars, offset, length)));
+        }
+        return epochDay(year, month, day) * 86_400L + hour * 3_600L + minute * 60L;
+    }
+
+    private static int parseDigits(char[] chars, int offset, int width) {
+        var value = 0;
+        for (int i = offset; i < offset + width; i++) {
+            var digit = chars[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException("Invalid time: " + new String(chars, offset, width));
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Days since 1970-01-01 for a proleptic Gregorian date (Hinnant's days_from_civil).
+     */
+    private static long epochDay(int year, int month, int day) {
+        var y = month <= 2 ? year - 1 : year;
+        var era = Math.floorDiv(y, 400);
+        var yearOfEra = y - era * 400;
+        var dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        var dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097L + dayOfEra - 719_468L;
+    }
+
+    /**
+     * Formats a column value as {@code yyyy-MM-dd'T'HH:mm} without going through a DateTimeFormatter.
+     */
+    static String formatTime(long epochSecond) {
+        var chars = new char[16];
+        writeTime(epochSecond, chars, false);
+        return new String(chars);
+    }
+
+    /**
+     * Writes {@code yyyy-MM-dd'T'HH:mm}, optionally followed by {@code :ss}, into the buffer.
+     * Four-digit years are assumed, which covers every forecast date.
+     */
+    static int writeTime(long epochSecond, char[] buffer, boolean withSeconds) {
+        var days = Math.floorDiv(epochSecond, 86_400L);
+        var secondOfDay = (int) Math.floorMod(epochSecond, 86_400L);
+        var date = LocalDate.ofEpochDay(days);
+
+        writeDigits(buffer, 0, date.getYear(), 4);
+        buffer[4] = '-';
+        writeDigits(buffer, 5, date.getMonthValue(), 2);
+        buffer[7] = '-';
+        writeDigits(buffer, 8, date.getDayOfMonth(), 2);
+        buffer[10] = 'T';
+        writeDigits(buffer, 11, secondOfDay / 3600, 2);
+        buffer[13] = ':';
+        writeDigits(buffer, 14, secondOfDay / 60 % 60, 2);
+        if (!withSeconds) {
+            return 16;
+        }
+        buffer[16] = ':';
+        writeDigits(buffer, 17, secondOfDay % 60, 2);
+        return 19;
+    }
+
+    private static void writeDigits(char[] buffer, int position, int value, int width) {
+        for (int i = position + width - 1; i >= position; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    /**
+     * Appends hours in order and hands its arrays to the series without copying.
+     */
+    public static final class Builder {
+
+        private long[] epochSeconds;
+        private double[] temperatures;
+        private byte[] weatherCodes;
+        private int size;
+        private boolean built;
+
+        private Builder(int expectedHours) {
+            var capacity = Math.max(expectedHours, 0);
+            epochSeconds = new long[capacity];
+            temperatures = new double[capacity];
+            weatherCodes = new byte[capacity];
+        }
+
+        public Builder add(long epochSecond, double temperature, int weatherCode) {
+            if (built) {
+                throw new IllegalStateException("Series has already been built");
+            }
+            if (weatherCode < 0 || weatherCode > 99) {
+                throw new IllegalArgumentException("Weather code must be between 0 and 99");
+            }
+            if (size == epochSeconds.length) {
+                var capacity = Math.max(8, size * 2);
+                epochSeconds = Arrays.copyOf(epochSeconds, capacity);
+                temperatures = Arrays.copyOf(temperatures, capacity);
+                weatherCodes = Arrays.copyOf(weatherCodes, capacity);
+            }
+            epochSeconds[size] = epochSecond;
+            temperatures[size] = temperature;
+            weatherCodes[size] = (byte) weatherCode;
+            size++;
+            return this;
+        }
+
+        public HourlySeries build() {
+            built = true;
+            return size == 0 ? EMPTY : new HourlySeries(epochSeconds, temperatures, weatherCodes, size);
+        }
+    }
+
+    /**
+     * Writes the series in the same shape as a serialized {@code List<HourlyWeather>},
+     * reading the primitive columns directly instead of materializing records.
+     */
+    public static final class Serializer extends StdSerializer<HourlySeries> {
+
+        public Serializer() {
+            super(HourlySeries.class);
+        }
+
+        @Override
+        public void serialize(HourlySeries series, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+                // localDateTime would be written as an array; leave that to the record serializer
+                var recordSerializer = provider.findValueSerializer(WeatherData.HourlyWeather.class);
+                generator.writeStartArray(series, series.size);
+                for (var hour : series) {
+                    recordSerializer.serialize(hour, generator, provider);
+                }
+                generator.writeEndArray();
+                return;
+            }
+
+            var buffer = new char[19];
+            generator.writeStartArray(series, series.size);
+            for (int i = 0; i < series.size; i++) {
+                generator.writeStartObject();
+                writeTime(series.epochSeconds[i], buffer, false);
+                generator.writeFieldName("time");
+                generator.writeString(buffer, 0, 16);
+                generator.writeNumberField("temperature", series.temperatures[i]);
+                generator.writeNumberField("weatherCode", series.weatherCodes[i]);
+                generator.writeFieldName("localDateTime");
+                generator.writeString(buffer, 0, writeTime(series.epochSeconds[i], buffer, true));
+                generator.writeStringField("weatherDescription", WeatherData.HourlyWeather.describe(series.weatherCodes[i]));
+                generator.writeStringField("formattedTemperature", WeatherData.HourlyWeather.formatTemperature(series.temperatures[i]));
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+    }
+}
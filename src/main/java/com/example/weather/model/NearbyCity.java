@@ -0,0 +1,14 @@
+package com.example.weather.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A city near a requested location, with the code to request its weather by.
+ */
+public record NearbyCity(
+    @JsonProperty("code") String code,
+    @JsonProperty("name") String name,
+    @JsonProperty("latitude") double latitude,
+    @JsonProperty("longitude") double longitude,
+    @JsonProperty("distanceKm") double distanceKm
+) {}
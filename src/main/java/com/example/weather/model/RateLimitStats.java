@@ -0,0 +1,19 @@
+package com.example.weather.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Immutable snapshot of the upstream rate limiter, cumulative since application start.
+ * Acquired requests include the delayed ones; rejected requests were shed without reaching
+ * Open-Meteo. Available permits are fractional while the bucket refills, and left out while
+ * the limiter is disabled.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RateLimitStats(
+    @JsonProperty("acquired") long acquired,
+    @JsonProperty("delayed") long delayed,
+    @JsonProperty("rejected") long rejected,
+    @JsonProperty("availablePermits") Double availablePermits
+) {
+}
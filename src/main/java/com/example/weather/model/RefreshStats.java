@@ -0,0 +1,17 @@
+package com.example.weather.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Immutable snapshot of background refresher counters, cumulative since application start.
+ * A refresh is late when the forecast it replaced had already turned stale; the lag is
+ * how long it had been stale by then.
+ */
+public record RefreshStats(
+    @JsonProperty("cities") int cities,
+    @JsonProperty("refreshes") long refreshes,
+    @JsonProperty("failures") long failures,
+    @JsonProperty("lateRefreshes") long lateRefreshes,
+    @JsonProperty("maxLagMillis") long maxLagMillis
+) {
+}
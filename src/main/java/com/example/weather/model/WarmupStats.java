@@ -0,0 +1,29 @@
+package com.example.weather.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Outcome of the startup forecast warm-up.
+ * The duration is only known once the warm-up has finished.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record WarmupStats(
+    @JsonProperty("state") State state,
+    @JsonProperty("cities") int cities,
+    @JsonProperty("warmed") int warmed,
+    @JsonProperty("durationMillis") Long durationMillis
+) {
+
+    public enum State {
+        PENDING, RUNNING, COMPLETED, TIMED_OUT, SKIPPED
+    }
+
+    /**
+     * Whether the warm-up no longer holds back readiness; a timed-out warm-up counts as
+     * finished because the remaining cities are still fetched on demand.
+     */
+    public boolean isFinished() {
+        return state == State.COMPLETED || state == State.TIMED_OUT || state == State.SKIPPED;
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.weather.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
@@ -10,7 +11,9 @@ import java.util.OptionalDouble;
 /**
  * Immutable weather data using Java 14+ Record pattern.
  * Demonstrates modern Java practices with nested records and validation.
+ * The JSON property order is pinned because the columnar {@link HourlySeries} serializer reproduces it.
  */
+@JsonPropertyOrder({"cityName", "latitude", "longitude", "hourlyWeather", "currentWeather", "averageTemperature"})
 public record WeatherData(
     @JsonProperty("cityName") String cityName,
     @JsonProperty("latitude") double latitude,
@@ -27,15 +30,16 @@ public record WeatherData(
         }
         if (hourlyWeather == null) {
             hourlyWeather = List.of(); // Use immutable empty list
-        } else {
+        } else if (!(hourlyWeather instanceof HourlySeries)) {
             hourlyWeather = List.copyOf(hourlyWeather); // Create immutable copy
-        }
+        } // HourlySeries is already immutable and is kept as-is to avoid materializing every hour
     }
     
     /**
      * Nested record for hourly weather data.
      * Demonstrates modern Java record patterns with validation and utility methods.
      */
+    @JsonPropertyOrder({"time", "temperature", "weatherCode", "localDateTime", "weatherDescription", "formattedTemperature"})
     public record HourlyWeather(
         @JsonProperty("time") String time,
         @JsonProperty("temperature") double temperature,
@@ -62,10 +66,24 @@ public record WeatherData(
         }
         
         /**
-         * Enhanced method using modern switch expressions (Java 14+).
-         * Demonstrates modern control flow patterns.
+         * Human readable description of the WMO weather code.
          */
         public String getWeatherDescription() {
+            return describe(weatherCode);
+        }
+        
+        /**
+         * Formatted temperature string using modern String methods.
+         */
+        public String getFormattedTemperature() {
+            return formatTemperature(temperature);
+        }
+
+        /**
+         * Enhanced method using modern switch expressions (Java 14+).
+         * Shared with the columnar {@link HourlySeries} serializer.
+         */
+        static String describe(int weatherCode) {
             return switch (weatherCode) {
                 case 0 -> "Clear sky";
                 case 1, 2, 3 -> "Partly cloudy";
@@ -83,15 +101,25 @@ public record WeatherData(
                 }
             };
         }
-        
-        /**
-         * Formatted temperature string using modern String methods.
-         */
-        public String getFormattedTemperature() {
+
+        static String formatTemperature(double temperature) {
             return "%.1f°C".formatted(temperature);
         }
     }
     
+    /**
+     * The same forecast limited to its first {@code hours} hours.
+     */
+    public WeatherData firstHours(int hours) {
+        if (hours >= hourlyWeather.size()) {
+            return this;
+        }
+        var limited = hourlyWeather instanceof HourlySeries series
+                ? series.first(hours)
+                : hourlyWeather.subList(0, Math.max(hours, 0));
+        return new WeatherData(cityName, latitude, longitude, limited);
+    }
+
     /**
      * Convenience method to get current weather (first hour).
      * Uses modern Optional patterns.
@@ -106,6 +134,9 @@ public record WeatherData(
      * Get average temperature using modern Stream API.
      */
     public OptionalDouble getAverageTemperature() {
+        if (hourlyWeather instanceof HourlySeries series) {
+            return series.averageTemperature(); // Averages the primitive column without creating records
+        }
         return hourlyWeather.stream()
                 .mapToDouble(HourlyWeather::temperature)
                 .average();
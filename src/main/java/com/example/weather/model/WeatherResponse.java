@@ -1,8 +1,10 @@
 package com.example.weather.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import java.util.List;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class WeatherResponse {
     private double latitude;
     private double longitude;
@@ -47,40 +49,20 @@ public class WeatherResponse {
         this.hourly = hourly;
     }
 
+    /**
+     * The {@code hourly} block of an Open-Meteo response, parsed by {@link HourlyDataDeserializer}
+     * straight into a columnar {@link HourlySeries} without boxing individual values.
+     */
+    @JsonDeserialize(using = HourlyDataDeserializer.class)
     public static class HourlyData {
-        private List<String> time;
-        @JsonProperty("temperature_2m")
-        private List<Double> temperature2m;
-        @JsonProperty("weather_code")
-        private List<Integer> weatherCode;
+        private final HourlySeries series;
 
-        public HourlyData() {}
-
-        @JsonProperty("time")
-        public List<String> getTime() {
-            return time;
-        }
-
-        public void setTime(List<String> time) {
-            this.time = time;
-        }
-
-        @JsonProperty("temperature_2m")
-        public List<Double> getTemperature2m() {
-            return temperature2m;
-        }
-
-        public void setTemperature2m(List<Double> temperature2m) {
-            this.temperature2m = temperature2m;
-        }
-
-        @JsonProperty("weather_code")
-        public List<Integer> getWeatherCode() {
-            return weatherCode;
+        public HourlyData(HourlySeries series) {
+            this.series = series == null ? HourlySeries.empty() : series;
         }
 
-        public void setWeatherCode(List<Integer> weatherCode) {
-            this.weatherCode = weatherCode;
+        public HourlySeries getSeries() {
+            return series;
         }
     }
 }
\ No newline at end of file
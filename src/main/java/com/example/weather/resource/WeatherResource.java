@@ -3,14 +3,34 @@ package com.example.weather.resource;
 import com.example.weather.model.WeatherData;
 import com.example.weather.service.WeatherServiceSelector;
 import com.example.weather.service.CityService;
+import com.example.weather.service.EncodedForecastCache;
+import com.example.weather.service.ForecastCache;
+import com.example.weather.service.ForecastRefresher;
+import com.example.weather.service.ForecastWarmup;
+import com.example.weather.service.HedgingPolicy;
+import com.example.weather.service.UpstreamCircuitBreaker;
+import com.example.weather.service.UpstreamRateLimiter;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
-import java.util.Optional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.resteasy.reactive.RestStreamElementType;
+import org.jboss.resteasy.reactive.common.util.RestMediaType;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
 
 @Path("/weather")
 @Produces(MediaType.APPLICATION_JSON)
@@ -22,18 +42,194 @@ public class WeatherResource {
     @Inject
     CityService cityService;
 
+    @Inject
+    ForecastCache forecastCache;
+
+    @Inject
+    EncodedForecastCache encodedForecastCache;
+
+    @Inject
+    ForecastWarmup forecastWarmup;
+
+    @Inject
+    ForecastRefresher forecastRefresher;
+
+    @Inject
+    UpstreamCircuitBreaker circuitBreaker;
+
+    @Inject
+    HedgingPolicy hedgingPolicy;
+
+    @Inject
+    UpstreamRateLimiter rateLimiter;
+
+    @ConfigProperty(name = "weather.bulk.max-cities", defaultValue = "100")
+    int maxBulkCities;
+
+    @ConfigProperty(name = "weather.near.max-results", defaultValue = "100")
+    int maxNearResults;
+
+    /**
+     * Forecast for one city; {@code hours} limits it to the first hours of the cached forecast.
+     */
     @GET
     @Path("/{cityCode}")
-    public Response getWeatherByCity(@PathParam("cityCode") String cityCode) {
-        Optional<WeatherData> weatherData = weatherService.getWeatherByCityCode(cityCode);
-        
-        if (weatherData.isPresent()) {
-            return Response.ok(weatherData.get()).build();
+    public Uni<Response> getWeatherByCity(@PathParam("cityCode") String cityCode,
+                                          @QueryParam("hours") Integer hours,
+                                          @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding,
+                                          @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        if (hours != null && hours < 1) {
+            return Uni.createFrom().item(Response.status(Response.Status.BAD_REQUEST)
+                    .entity("{\"error\": \"hours must be at least 1\"}")
+                    .build());
+        }
+        var limit = hours == null ? Integer.MAX_VALUE : hours;
+        // Returning Uni keeps the request on the event loop for the whole upstream round trip
+        return weatherService.getWeatherByCityCodeAsync(cityCode)
+                .map(weatherData -> weatherData
+                        .map(data -> encodedResponse(encodedForecastCache.encode(data, limit),
+                                weatherService.freshFor(cityCode, data), acceptEncoding, ifNoneMatch))
+                        .orElseGet(() -> Response.status(Response.Status.NOT_FOUND)
+                                .entity("{\"error\": \"City not found: " + cityCode + "\"}")
+                                .build()));
+    }
+
+    /**
+     * Writes the pre-encoded forecast as is, gzip-compressed when the client accepts it.
+     * A client that already holds this version (either coding) gets {@code 304 Not Modified};
+     * {@code max-age} lets it reuse the forecast until the cached entry turns stale.
+     */
+    private static Response encodedResponse(EncodedForecastCache.Encoded encoded, Duration freshFor,
+                                            String acceptEncoding, String ifNoneMatch) {
+        var gzip = acceptsGzip(acceptEncoding);
+        Response.ResponseBuilder response;
+        if (matchesAny(ifNoneMatch, encoded.etag(), encoded.gzipEtag())) {
+            response = Response.notModified();
+        } else if (gzip) {
+            response = Response.ok(encoded.gzip(), MediaType.APPLICATION_JSON_TYPE).encoding("gzip");
         } else {
-            return Response.status(Response.Status.NOT_FOUND)
-                    .entity("{\"error\": \"City not found: " + cityCode + "\"}")
+            response = Response.ok(encoded.json(), MediaType.APPLICATION_JSON_TYPE);
+        }
+        return response
+                .tag(gzip ? encoded.gzipEtag() : encoded.etag())
+                .header(HttpHeaders.CACHE_CONTROL, "max-age=" + freshFor.toSeconds())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .build();
+    }
+
+    /**
+     * {@code If-None-Match} uses weak comparison, so a {@code W/} prefix is ignored.
+     */
+    static boolean matchesAny(String ifNoneMatch, String... etags) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (var candidate : ifNoneMatch.split(",")) {
+            var tag = candidate.strip();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            for (var etag : etags) {
+                if (tag.equals('"' + etag + '"')) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (var coding : acceptEncoding.split(",")) {
+            var parameters = coding.split(";");
+            if (parameters[0].strip().equalsIgnoreCase("gzip")) {
+                return parameters.length < 2 || !parameters[1].strip().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Bulk lookup for a comma-separated list of city codes, e.g. {@code ?cities=helsinki,oulu}.
+     */
+    @GET
+    public Uni<Response> getWeatherForCities(@QueryParam("cities") String cities) {
+        var cityCodes = cities == null ? List.<String>of() : Arrays.asList(cities.split(","));
+        return bulkLookup(cityCodes);
+    }
+
+    /**
+     * Bulk lookup taking a JSON array of city codes, for lists too long for a query string.
+     */
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    public Uni<Response> postWeatherForCities(List<String> cityCodes) {
+        return bulkLookup(cityCodes == null ? List.of() : cityCodes);
+    }
+
+    private Uni<Response> bulkLookup(List<String> requestedCodes) {
+        var cityCodes = requestedCodes.stream()
+                .filter(code -> code != null && !code.isBlank())
+                .map(String::strip)
+                .distinct()
+                .toList();
+        if (cityCodes.isEmpty() || cityCodes.size() > maxBulkCities) {
+            return Uni.createFrom().item(Response.status(Response.Status.BAD_REQUEST)
+                    .entity("{\"error\": \"Expected between 1 and " + maxBulkCities + " city codes\"}")
+                    .build());
+        }
+        return weatherService.getWeatherByCityCodesAsync(cityCodes)
+                .map(results -> Response.ok(results).build());
+    }
+
+    /**
+     * Streams every city's weather as newline-delimited JSON, one object per line,
+     * writing each city as soon as its lookup completes.
+     */
+    @GET
+    @Path("/stream")
+    @Produces(RestMediaType.APPLICATION_NDJSON)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    public Multi<WeatherData> streamAllCities() {
+        return weatherService.streamAllCities();
+    }
+
+    /**
+     * Server-Sent Events variant of {@link #streamAllCities()}, chosen with {@code Accept: text/event-stream}.
+     */
+    @GET
+    @Path("/stream")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    public Multi<WeatherData> streamAllCitiesAsEvents() {
+        return weatherService.streamAllCities();
+    }
+
+    /**
+     * The cities nearest to a location, e.g. {@code ?lat=60.17&lon=24.94&limit=3}, nearest first.
+     */
+    @GET
+    @Path("/near")
+    public Response getNearestCities(@QueryParam("lat") Double latitude,
+                                     @QueryParam("lon") Double longitude,
+                                     @QueryParam("limit") @DefaultValue("5") int limit) {
+        if (latitude == null || longitude == null
+                || !(latitude >= -90 && latitude <= 90) || !(longitude >= -180 && longitude <= 180)) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("{\"error\": \"lat must be between -90 and 90 and lon between -180 and 180\"}")
                     .build();
         }
+        if (limit < 1 || limit > maxNearResults) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("{\"error\": \"limit must be between 1 and " + maxNearResults + "\"}")
+                    .build();
+        }
+        return Response.ok(cityService.findNearest(latitude, longitude, limit)).build();
     }
 
     @GET
@@ -41,4 +237,40 @@ public class WeatherResource {
     public Response getAllCities() {
         return Response.ok(cityService.getAllCities()).build();
     }
+
+    @GET
+    @Path("/cache/stats")
+    public Response getCacheStats() {
+        return Response.ok(forecastCache.stats()).build();
+    }
+
+    @GET
+    @Path("/warmup/stats")
+    public Response getWarmupStats() {
+        return Response.ok(forecastWarmup.stats()).build();
+    }
+
+    @GET
+    @Path("/refresh/stats")
+    public Response getRefreshStats() {
+        return Response.ok(forecastRefresher.stats()).build();
+    }
+
+    @GET
+    @Path("/circuit-breaker/stats")
+    public Response getCircuitBreakerStats() {
+        return Response.ok(circuitBreaker.stats()).build();
+    }
+
+    @GET
+    @Path("/hedge/stats")
+    public Response getHedgeStats() {
+        return Response.ok(hedgingPolicy.stats()).build();
+    }
+
+    @GET
+    @Path("/rate-limit/stats")
+    public Response getRateLimitStats() {
+        return Response.ok(rateLimiter.stats()).build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,351 @@
+package com.example.weather.service;
+
+import com.example.weather.model.City;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Cities loaded from a GeoNames-style dump: tab-separated rows of geonameid, name, asciiname,
+ * alternatenames, latitude, longitude, feature class, ..., population (column 15). Rows of a
+ * feature class other than {@code P} (populated place) are skipped, as are malformed rows.
+ * <p>
+ * The file is read through a memory mapping and parsed without a {@code String} per row.
+ * Cities are kept column-wise in a few arrays: names and lookup codes as UTF-8 in shared byte
+ * pools, coordinates as integers in units of 10<sup>-5</sup> degrees (about a metre; further
+ * decimals are dropped). A million cities with short names take about 42 MB. Codes are the
+ * names in lower case and are found through an open-addressing hash table of city indexes;
+ * when several cities share a code, the most populous one is indexed.
+ */
+final class CityDataset {
+
+    static final CityDataset EMPTY = new Builder().build();
+
+    private static final int NAME = 1;
+    private static final int LATITUDE = 4;
+    private static final int LONGITUDE = 5;
+    private static final int FEATURE_CLASS = 6;
+    private static final int POPULATION = 14;
+    private static final double SCALE = 100_000;
+    private static final int INVALID = Integer.MIN_VALUE;
+
+    private final int size;
+    private final byte[] names;
+    private final int[] nameOffsets;
+    private final byte[] codes;
+    private final int[] codeOffsets;
+    private final int[] latitudes;
+    private final int[] longitudes;
+    // City index + 1 per slot, 0 for an empty slot
+    private final int[] index;
+    private final int indexedCodes;
+
+    private CityDataset(Builder builder) {
+        size = builder.size;
+        names = Arrays.copyOf(builder.names, builder.nameOffsets[size]);
+        nameOffsets = Arrays.copyOf(builder.nameOffsets, size + 1);
+        codes = Arrays.copyOf(builder.codes, builder.codeOffsets[size]);
+        codeOffsets = Arrays.copyOf(builder.codeOffsets, size + 1);
+        latitudes = Arrays.copyOf(builder.latitudes, size);
+        longitudes = Arrays.copyOf(builder.longitudes, size);
+        // At most half full, so probe sequences stay short
+        index = new int[Integer.highestOneBit(Math.max(1, size)) << 2];
+        indexedCodes = buildIndex(builder.populations);
+    }
+
+    static CityDataset load(Path file) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("City file is larger than 2 GB: " + file);
+            }
+            return parse(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    static CityDataset parse(ByteBuffer buffer) {
+        var builder = new Builder();
+        var columns = new int[POPULATION + 2];
+        var position = buffer.position();
+        var end = buffer.limit();
+        while (position < end) {
+            var lineEnd = position;
+            while (lineEnd < end && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            builder.addRow(buffer, position, lineEnd, columns);
+            position = lineEnd + 1;
+        }
+        return builder.build();
+    }
+
+    /**
+     * Rows loaded, including cities whose code is taken by a more populous city.
+     */
+    int size() {
+        return size;
+    }
+
+    int indexedCodes() {
+        return indexedCodes;
+    }
+
+    /**
+     * Approximate heap taken by the dataset's arrays.
+     */
+    long footprintBytes() {
+        return names.length + codes.length
+                + 4L * (nameOffsets.length + codeOffsets.length + latitudes.length + longitudes.length + index.length);
+    }
+
+    double latitude(int city) {
+        return latitudes[city] / SCALE;
+    }
+
+    double longitude(int city) {
+        return longitudes[city] / SCALE;
+    }
+
+    City city(int city) {
+        var name = new String(names, nameOffsets[city], nameOffsets[city + 1] - nameOffsets[city], StandardCharsets.UTF_8);
+        return new City(name, latitude(city), longitude(city));
+    }
+
+    String code(int city) {
+        return new String(codes, codeOffsets[city], codeOffsets[city + 1] - codeOffsets[city], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The city with the given lower-case code, or {@code null}.
+     */
+    City find(String code) {
+        var city = indexOf(code);
+        return city < 0 ? null : city(city);
+    }
+
+    /**
+     * Index of the city with the given lower-case code, or -1.
+     */
+    int indexOf(String code) {
+        var key = code.getBytes(StandardCharsets.UTF_8);
+        var mask = index.length - 1;
+        for (var slot = hash(key, 0, key.length) & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+            var city = index[slot] - 1;
+            if (codeEquals(city, key, 0, key.length)) {
+                return city;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Indexes of the cities found by their code, in file order.
+     */
+    int[] indexedCities() {
+        var cities = new int[indexedCodes];
+        var count = 0;
+        for (var slot : index) {
+            if (slot != 0) {
+                cities[count++] = slot - 1;
+            }
+        }
+        Arrays.sort(cities);
+        return cities;
+    }
+
+    private int buildIndex(long[] populations) {
+        var mask = index.length - 1;
+        var indexed = 0;
+        for (var city = 0; city < size; city++) {
+            var from = codeOffsets[city];
+            var to = codeOffsets[city + 1];
+            var slot = hash(codes, from, to) & mask;
+            while (index[slot] != 0 && !codeEquals(index[slot] - 1, codes, from, to)) {
+                slot = (slot + 1) & mask;
+            }
+            if (index[slot] == 0) {
+                indexed++;
+                index[slot] = city + 1;
+            } else if (populations[city] > populations[index[slot] - 1]) {
+                index[slot] = city + 1;
+            }
+        }
+        return indexed;
+    }
+
+    private boolean codeEquals(int city, byte[] key, int from, int to) {
+        return Arrays.equals(codes, codeOffsets[city], codeOffsets[city + 1], key, from, to);
+    }
+
+    private static int hash(byte[] bytes, int from, int to) {
+        var hash = 0x811c9dc5; // FNV-1a, finished with a Murmur3 mix for the low bits
+        for (var i = from; i < to; i++) {
+            hash = (hash ^ bytes[i]) * 0x01000193;
+        }
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        return hash ^ (hash >>> 13);
+    }
+
+    /**
+     * Growable columns filled while parsing.
+     */
+    private static final class Builder {
+
+        private int size;
+        private byte[] names = new byte[1024];
+        private int[] nameOffsets = new int[65];
+        private byte[] codes = new byte[1024];
+        private int[] codeOffsets = new int[65];
+        private int[] latitudes = new int[64];
+        private int[] longitudes = new int[64];
+        private long[] populations = new long[64];
+
+        void addRow(ByteBuffer buffer, int from, int to, int[] columns) {
+            if (to > from && buffer.get(to - 1) == '\r') {
+                to--;
+            }
+            if (to == from || buffer.get(from) == '#') {
+                return;
+            }
+            var count = 0;
+            columns[count++] = from;
+            for (var i = from; i < to && count < columns.length; i++) {
+                if (buffer.get(i) == '\t') {
+                    columns[count++] = i + 1;
+                }
+            }
+            if (count <= LONGITUDE) {
+                return;
+            }
+            if (count > FEATURE_CLASS && columnEnd(columns, count, FEATURE_CLASS, to) > columns[FEATURE_CLASS]
+                    && buffer.get(columns[FEATURE_CLASS]) != 'P') {
+                return;
+            }
+            var nameFrom = columns[NAME];
+            var nameTo = columnEnd(columns, count, NAME, to);
+            var latitude = parseCoordinate(buffer, columns[LATITUDE], columnEnd(columns, count, LATITUDE, to), 90);
+            var longitude = parseCoordinate(buffer, columns[LONGITUDE], columnEnd(columns, count, LONGITUDE, to), 180);
+            if (nameTo == nameFrom || latitude == INVALID || longitude == INVALID) {
+                return;
+            }
+            var population = count > POPULATION
+                    ? parsePopulation(buffer, columns[POPULATION], columnEnd(columns, count, POPULATION, to))
+                    : 0;
+            add(buffer, nameFrom, nameTo, latitude, longitude, population);
+        }
+
+        private void add(ByteBuffer buffer, int nameFrom, int nameTo, int latitude, int longitude, long population) {
+            if (size == latitudes.length) {
+                var capacity = size * 2;
+                nameOffsets = Arrays.copyOf(nameOffsets, capacity + 1);
+                codeOffsets = Arrays.copyOf(codeOffsets, capacity + 1);
+                latitudes = Arrays.copyOf(latitudes, capacity);
+                longitudes = Arrays.copyOf(longitudes, capacity);
+                populations = Arrays.copyOf(populations, capacity);
+            }
+            var nameStart = nameOffsets[size];
+            var length = nameTo - nameFrom;
+            names = ensureCapacity(names, nameStart + length);
+            buffer.get(nameFrom, names, nameStart, length);
+            nameOffsets[size + 1] = nameStart + length;
+            addCode(nameStart, length);
+            latitudes[size] = latitude;
+            longitudes[size] = longitude;
+            populations[size] = population;
+            size++;
+        }
+
+        /**
+         * Lower-cases ASCII names byte by byte; other names go through {@link String#toLowerCase}.
+         */
+        private void addCode(int nameStart, int length) {
+            var codeStart = codeOffsets[size];
+            var ascii = true;
+            for (var i = nameStart; i < nameStart + length && ascii; i++) {
+                ascii = names[i] >= 0;
+            }
+            if (ascii) {
+                codes = ensureCapacity(codes, codeStart + length);
+                for (var i = 0; i < length; i++) {
+                    var b = names[nameStart + i];
+                    codes[codeStart + i] = b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+                }
+                codeOffsets[size + 1] = codeStart + length;
+                return;
+            }
+            var code = new String(names, nameStart, length, StandardCharsets.UTF_8)
+                    .toLowerCase(Locale.ROOT)
+                    .getBytes(StandardCharsets.UTF_8);
+            codes = ensureCapacity(codes, codeStart + code.length);
+            System.arraycopy(code, 0, codes, codeStart, code.length);
+            codeOffsets[size + 1] = codeStart + code.length;
+        }
+
+        CityDataset build() {
+            return new CityDataset(this);
+        }
+
+        private static byte[] ensureCapacity(byte[] bytes, int length) {
+            return length <= bytes.length ? bytes : Arrays.copyOf(bytes, Math.max(length, bytes.length * 2));
+        }
+
+        private static int columnEnd(int[] columns, int count, int column, int lineEnd) {
+            return column + 1 < count ? columns[column + 1] - 1 : lineEnd;
+        }
+
+        /**
+         * Decimal degrees in units of 10<sup>-5</sup> degrees, or {@link #INVALID}.
+         */
+        private static int parseCoordinate(ByteBuffer buffer, int from, int to, int limit) {
+            var negative = from < to && buffer.get(from) == '-';
+            var position = negative || (from < to && buffer.get(from) == '+') ? from + 1 : from;
+            var value = 0L;
+            var digits = 0;
+            var decimals = -1;
+            for (; position < to; position++) {
+                var b = buffer.get(position);
+                if (b == '.' && decimals < 0) {
+                    decimals = 0;
+                    continue;
+                }
+                if (b < '0' || b > '9') {
+                    return INVALID;
+                }
+                digits++;
+                if (decimals < 0) {
+                    value = value * 10 + (b - '0');
+                    if (value > limit) {
+                        return INVALID;
+                    }
+                } else if (decimals < 5) {
+                    value = value * 10 + (b - '0');
+                    decimals++;
+                }
+            }
+            for (var scale = Math.max(decimals, 0); scale < 5; scale++) {
+                value *= 10;
+            }
+            if (digits == 0 || value > limit * (long) SCALE) {
+                return INVALID;
+            }
+            return (int) (negative ? -value : value);
+        }
+
+        private static long parsePopulation(ByteBuffer buffer, int from, int to) {
+            var population = 0L;
+            for (var i = from; i < to; i++) {
+                var b = buffer.get(i);
+                if (b < '0' || b > '9' || population > Long.MAX_VALUE / 10 - 9) {
+                    return 0;
+                }
+                population = population * 10 + (b - '0');
+            }
+            return population;
+        }
+    }
+}
@@ -1,11 +1,31 @@
 package com.example.weather.service;
 
 import com.example.weather.model.City;
+import com.example.weather.model.NearbyCity;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * City lookup by code. The built-in Finnish cities are always available and are the cities
+ * warmed up, refreshed and streamed. With {@code weather.cities.file} pointing to a
+ * GeoNames-style dump, any city in it can be looked up as well; a built-in city wins over a
+ * city of the same code in the file.
+ * <p>
+ * Every city that can be found by code can also be found by location, through a k-d tree
+ * built when the cities are loaded.
+ */
 @ApplicationScoped
 public class CityService {
     
@@ -22,26 +42,110 @@ public class CityService {
         "kuopio", new City("Kuopio", 62.8924, 27.6770),
         "oulu", new City("Oulu", 65.0121, 25.4651)
     );
+
+    @ConfigProperty(name = "weather.cities.file")
+    Optional<String> citiesFile = Optional.empty();
+
+    private volatile Locator locator = locator(CityDataset.EMPTY);
+
+    /**
+     * The loaded cities and their spatial index, replaced as a whole. Tree ids below the number
+     * of built-in cities refer to those; the rest to the dataset cities they do not shadow.
+     */
+    private record Locator(KdTree tree, List<Map.Entry<String, City>> builtIns,
+                           CityDataset dataset, int[] datasetCities) {}
     
     public CityService() {
         LOG.infof("Initialized %d cities", cities.size());
     }
+
+    @PostConstruct
+    void init() {
+        citiesFile.map(Path::of).ifPresent(this::loadDataset);
+    }
+
+    void loadDataset(Path file) {
+        var started = System.nanoTime();
+        CityDataset dataset;
+        try {
+            dataset = CityDataset.load(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load cities from " + file, e);
+        }
+        LOG.infof("Loaded %d cities (%d distinct codes) from %s in %d ms, %d MB of heap",
+                dataset.size(), dataset.indexedCodes(), file,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), dataset.footprintBytes() >> 20);
+
+        started = System.nanoTime();
+        locator = locator(dataset);
+        LOG.infof("Indexed %d cities by location in %d ms",
+                locator.tree().size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private Locator locator(CityDataset dataset) {
+        var builtIns = List.copyOf(cities.entrySet());
+        var shadowed = cities.keySet().stream().mapToInt(dataset::indexOf).filter(city -> city >= 0).toArray();
+        Arrays.sort(shadowed);
+        var datasetCities = Arrays.stream(dataset.indexedCities())
+                .filter(city -> Arrays.binarySearch(shadowed, city) < 0)
+                .toArray();
+
+        var size = builtIns.size() + datasetCities.length;
+        var latitudes = new double[size];
+        var longitudes = new double[size];
+        for (var i = 0; i < builtIns.size(); i++) {
+            latitudes[i] = builtIns.get(i).getValue().latitude();
+            longitudes[i] = builtIns.get(i).getValue().longitude();
+        }
+        for (var i = 0; i < datasetCities.length; i++) {
+            latitudes[builtIns.size() + i] = dataset.latitude(datasetCities[i]);
+            longitudes[builtIns.size() + i] = dataset.longitude(datasetCities[i]);
+        }
+        return new Locator(new KdTree(latitudes, longitudes), builtIns, dataset, datasetCities);
+    }
     
     public Optional<City> findCityByCode(String cityCode) {
-        var normalizedCode = cityCode.toLowerCase(); // Using var for clear type inference
-        LOG.infof("Looking for city with code: '%s' (normalized: '%s')", cityCode, normalizedCode);
-        
-        return Optional.ofNullable(cities.get(normalizedCode))
-                .map(city -> {
-                    LOG.infof("Found city: %s", city.name());
-                    return city;
-                })
-                .or(() -> {
-                    LOG.warnf("City not found for code: %s", cityCode);
-                    return Optional.empty();
-                });
+        var normalizedCode = cityCode.toLowerCase(Locale.ROOT); // Using var for clear type inference
+        var city = cities.get(normalizedCode);
+        if (city == null) {
+            city = locator.dataset().find(normalizedCode);
+        }
+        // Called for every request; misses are counted by RequestLog rather than logged at WARN
+        if (city == null) {
+            LOG.debugf("City not found for code: '%s' (normalized: '%s')", cityCode, normalizedCode);
+        } else {
+            LOG.debugf("Found city %s for code: '%s'", city.name(), cityCode);
+        }
+        return Optional.ofNullable(city);
     }
     
+    /**
+     * The {@code limit} cities nearest to the location by great-circle distance, nearest first.
+     */
+    public List<NearbyCity> findNearest(double latitude, double longitude, int limit) {
+        var current = locator;
+        var neighbours = current.tree().nearest(latitude, longitude, limit);
+        var nearest = new ArrayList<NearbyCity>(neighbours.ids().length);
+        for (var i = 0; i < neighbours.ids().length; i++) {
+            var id = neighbours.ids()[i];
+            String code;
+            City city;
+            if (id < current.builtIns().size()) {
+                code = current.builtIns().get(id).getKey();
+                city = current.builtIns().get(id).getValue();
+            } else {
+                var datasetCity = current.datasetCities()[id - current.builtIns().size()];
+                code = current.dataset().code(datasetCity);
+                city = current.dataset().city(datasetCity);
+            }
+            nearest.add(new NearbyCity(code, city.name(), city.latitude(), city.longitude(), neighbours.distancesKm()[i]));
+        }
+        return nearest;
+    }
+
+    /**
+     * The built-in cities; cities of {@code weather.cities.file} are only found by code.
+     */
     public Map<String, City> getAllCities() {
         return cities; // Return immutable map directly
     }
@@ -0,0 +1,149 @@
+package com.example.weather.service;
+
+import com.example.weather.model.City;
+import com.example.weather.model.WeatherData;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the serialized JSON of the latest forecast per city, so a request for a forecast
+ * that has not changed is answered with a buffer write instead of a Jackson pass.
+ * <p>
+ * The forecast version is the {@link WeatherData} instance: {@link ForecastCache} hands out
+ * the same instance until the forecast is refreshed, and the refreshed forecast replaces the
+ * encoding on its first request. Forecasts limited to fewer hours are kept as separate
+ * encodings of the same version. The gzip encoding is only created once a client asks for it.
+ * Each encoding carries an entity tag derived from its JSON content.
+ */
+@ApplicationScoped
+public class EncodedForecastCache {
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "weather.response-cache.max-size", defaultValue = "1000")
+    int maxSize;
+
+    private final Map<Key, Encoded> entries = new ConcurrentHashMap<>();
+
+    // Keyed by the whole city, since a city dataset has many places sharing a name
+    private record Key(City city, int hours) {}
+
+    public Encoded encode(WeatherData data) {
+        return encode(data, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Encoding of the forecast limited to its first {@code hours} hours.
+     */
+    public Encoded encode(WeatherData data, int hours) {
+        var city = new City(data.cityName(), data.latitude(), data.longitude());
+        var key = new Key(city, Math.min(hours, data.hourlyWeather().size()));
+        var cached = entries.get(key);
+        if (cached != null && cached.forecast() == data) {
+            return cached;
+        }
+        var encoded = new Encoded(data, serialize(data.firstHours(key.hours())));
+        if (cached == null && entries.size() >= maxSize) {
+            // Encodings are cheap to rebuild, so any entry will do
+            entries.keySet().stream().findAny().ifPresent(entries::remove);
+        }
+        entries.put(key, encoded);
+        return encoded;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private byte[] serialize(WeatherData data) {
+        try {
+            return objectMapper.writeValueAsBytes(data);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Could not serialize weather data for " + data.cityName(), e);
+        }
+    }
+
+    /**
+     * UTF-8 JSON of one forecast version, with its gzip encoding created on first use.
+     */
+    public static final class Encoded {
+
+        private final WeatherData forecast;
+        private final byte[] json;
+        private final String etag;
+        private volatile byte[] gzip;
+
+        Encoded(WeatherData forecast, byte[] json) {
+            this.forecast = forecast;
+            this.json = json;
+            this.etag = contentHash(json);
+        }
+
+        public WeatherData forecast() {
+            return forecast;
+        }
+
+        /**
+         * Strong entity tag value (without quotes) of the JSON representation.
+         */
+        public String etag() {
+            return etag;
+        }
+
+        /**
+         * Entity tag value of the gzip representation; a strong tag must differ per content coding.
+         */
+        public String gzipEtag() {
+            return etag + "-gzip";
+        }
+
+        /**
+         * The encoded bytes are shared between requests and must not be modified.
+         */
+        public byte[] json() {
+            return json;
+        }
+
+        public byte[] gzip() {
+            var compressed = gzip;
+            if (compressed == null) {
+                // Concurrent first requests may both compress; the results are identical
+                compressed = compress(json);
+                gzip = compressed;
+            }
+            return compressed;
+        }
+
+        private static String contentHash(byte[] bytes) {
+            try {
+                var digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+                return HexFormat.of().formatHex(digest, 0, 16);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is required by the Java platform", e);
+            }
+        }
+
+        private static byte[] compress(byte[] bytes) {
+            var buffer = new ByteArrayOutputStream(bytes.length / 4);
+            try (var out = new GZIPOutputStream(buffer)) {
+                out.write(bytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return buffer.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.weather.service;
+
+/**
+ * Where request handling and upstream calls run, selected with {@code weather.execution.mode}.
+ */
+public enum ExecutionMode {
+    /** Everything stays on the event loop and the non-blocking REST client is used. */
+    REACTIVE,
+    /** Requests and blocking upstream calls run on Java 21 virtual threads. */
+    VIRTUAL_THREADS,
+    /** Requests and blocking upstream calls run on a bounded pool of platform threads. */
+    PLATFORM_THREADS
+}
@@ -0,0 +1,74 @@
+package com.example.weather.service;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Applies the configured {@link ExecutionMode}. In the thread-based modes request
+ * handling is moved off the event loop and upstream calls use the blocking REST
+ * client on the mode's executor; in reactive mode both are left untouched.
+ */
+@ApplicationScoped
+public class ExecutionStrategy {
+
+    private static final Logger LOG = Logger.getLogger(ExecutionStrategy.class);
+
+    @ConfigProperty(name = "weather.execution.mode", defaultValue = "reactive")
+    ExecutionMode mode;
+
+    @ConfigProperty(name = "weather.execution.platform-threads", defaultValue = "200")
+    int platformThreads;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    void init() {
+        executor = switch (mode) {
+            case REACTIVE -> null;
+            case VIRTUAL_THREADS -> Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("weather-virtual-", 0).factory());
+            case PLATFORM_THREADS -> Executors.newFixedThreadPool(platformThreads,
+                    Thread.ofPlatform().name("weather-platform-", 0).daemon().factory());
+        };
+        LOG.infof("Weather execution mode: %s", mode);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public ExecutionMode mode() {
+        return mode;
+    }
+
+    /**
+     * Runs the request handling pipeline on the mode's executor, or as-is in reactive mode.
+     */
+    public <T> Uni<T> dispatch(Supplier<Uni<T>> request) {
+        if (executor == null) {
+            return request.get();
+        }
+        return Uni.createFrom().<T>deferred(request::get).runSubscriptionOn(executor);
+    }
+
+    /**
+     * Performs an upstream call with the non-blocking client in reactive mode, or with
+     * the blocking client on the mode's executor otherwise.
+     */
+    public <T> Uni<T> upstream(Supplier<Uni<T>> nonBlocking, Supplier<T> blocking) {
+        if (executor == null) {
+            return nonBlocking.get();
+        }
+        return Uni.createFrom().item(blocking).runSubscriptionOn(executor);
+    }
+}
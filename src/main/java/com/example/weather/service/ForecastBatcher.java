@@ -0,0 +1,216 @@
+package com.example.weather.service;
+
+import com.example.weather.model.City;
+import com.example.weather.model.WeatherResponse;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+import org.jboss.logging.Logger;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Collects upstream lookups for different cities over a short window and resolves
+ * them with a single multi-location Open-Meteo request. A batch is sent when the
+ * window closes or as soon as it reaches the configured maximum size, which is capped
+ * at the most permits the rate limiter can grant one request.
+ */
+@ApplicationScoped
+public class ForecastBatcher {
+
+    private static final Logger LOG = Logger.getLogger(ForecastBatcher.class);
+
+    @ConfigProperty(name = "weather.batch.window", defaultValue = "5ms")
+    Duration window;
+
+    @ConfigProperty(name = "weather.batch.max-size", defaultValue = "50")
+    int maxSize;
+
+    @ConfigProperty(name = "weather.forecast.hours", defaultValue = "48")
+    int forecastHours;
+
+    @Inject
+    @RestClient
+    OpenMeteoClient openMeteoClient;
+
+    @Inject
+    ExecutionStrategy executionStrategy;
+
+    @Inject
+    UpstreamCircuitBreaker circuitBreaker;
+
+    @Inject
+    HedgingPolicy hedgingPolicy;
+
+    @Inject
+    UpstreamRateLimiter rateLimiter;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private List<PendingLookup> pending = new ArrayList<>();
+    private ScheduledExecutorService timer;
+
+    private record PendingLookup(City city, CompletableFuture<WeatherResponse> result) {}
+
+    @PostConstruct
+    void init() {
+        if (maxSize > rateLimiter.maxPermits()) {
+            LOG.warnf("weather.batch.max-size (%d) exceeds what the rate limiter grants one request, "
+                    + "batches are capped at %d cities", maxSize, rateLimiter.maxPermits());
+        }
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "forecast-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        timer.shutdownNow();
+    }
+
+    /**
+     * Queues a lookup for the next batch and returns a future completed with the
+     * city's raw upstream response.
+     */
+    public CompletableFuture<WeatherResponse> fetch(City city) {
+        var lookup = new PendingLookup(city, new CompletableFuture<>());
+        List<PendingLookup> full = null;
+        lock.lock();
+        try {
+            pending.add(lookup);
+            if (pending.size() >= batchLimit()) {
+                full = drain();
+            } else if (pending.size() == 1) {
+                // First lookup of a new batch opens the window
+                timer.schedule(this::flush, window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (full != null) {
+            send(full);
+        }
+        return lookup.result();
+    }
+
+    /**
+     * Every location takes a rate limiter permit, so a larger batch would always be shed.
+     */
+    private int batchLimit() {
+        return Math.max(1, Math.min(maxSize, rateLimiter.maxPermits()));
+    }
+
+    private void flush() {
+        List<PendingLookup> batch;
+        lock.lock();
+        try {
+            batch = drain();
+        } finally {
+            lock.unlock();
+        }
+        if (!batch.isEmpty()) {
+            send(batch);
+        }
+    }
+
+    private List<PendingLookup> drain() {
+        var batch = pending;
+        pending = new ArrayList<>();
+        return batch;
+    }
+
+    private void send(List<PendingLookup> batch) {
+        // Several lookups for one city share a single location in the request
+        var byCity = batch.stream()
+                .collect(Collectors.groupingBy(PendingLookup::city, LinkedHashMap::new, Collectors.toList()));
+        var cities = List.copyOf(byCity.keySet());
+
+        // The whole batch is one upstream call for the circuit breaker and is hedged as a whole;
+        // Open-Meteo counts every location against the usage limits
+        circuitBreaker.call(() -> hedgingPolicy.call(() -> rateLimiter.call(cities.size(), () -> request(cities))))
+                .subscribe().with(
+            responses -> {
+                if (responses.size() != cities.size()) {
+                    fail(batch, new IllegalStateException("Expected %d forecasts but received %d"
+                            .formatted(cities.size(), responses.size())));
+                    return;
+                }
+                for (int i = 0; i < cities.size(); i++) {
+                    var response = responses.get(i);
+                    byCity.get(cities.get(i)).forEach(lookup -> lookup.result().complete(response));
+                }
+            },
+            failure -> fail(batch, failure)
+        );
+    }
+
+    private void fail(List<PendingLookup> batch, Throwable failure) {
+        if (failure instanceof UpstreamUnavailableException) {
+            LOG.debugf("Skipped batched weather fetch for %d lookups: %s", batch.size(), failure.getMessage());
+        } else {
+            LOG.errorf(failure, "Error fetching batched weather data for %d lookups", batch.size());
+        }
+        batch.forEach(lookup -> lookup.result().completeExceptionally(failure));
+    }
+
+    private Uni<List<WeatherResponse>> request(List<City> cities) {
+        if (cities.size() == 1) {
+            var city = cities.getFirst();
+            return executionStrategy.upstream(
+                () -> openMeteoClient.getWeatherDataAsync(
+                    city.latitude(),
+                    city.longitude(),
+                    OpenMeteoClient.HOURLY_VARIABLES,
+                    OpenMeteoClient.TIMEZONE_AUTO,
+                    forecastHours
+                ),
+                () -> openMeteoClient.getWeatherData(
+                    city.latitude(),
+                    city.longitude(),
+                    OpenMeteoClient.HOURLY_VARIABLES,
+                    OpenMeteoClient.TIMEZONE_AUTO,
+                    forecastHours
+                )
+            ).map(List::of);
+        }
+        LOG.debugf("Calling OpenMeteo API for %d locations in one request", cities.size());
+        var latitudes = joinCoordinates(cities, City::latitude);
+        var longitudes = joinCoordinates(cities, City::longitude);
+        return executionStrategy.upstream(
+            () -> openMeteoClient.getWeatherDataBatchAsync(
+                latitudes,
+                longitudes,
+                OpenMeteoClient.HOURLY_VARIABLES,
+                OpenMeteoClient.TIMEZONE_AUTO,
+                forecastHours
+            ),
+            () -> openMeteoClient.getWeatherDataBatch(
+                latitudes,
+                longitudes,
+                OpenMeteoClient.HOURLY_VARIABLES,
+                OpenMeteoClient.TIMEZONE_AUTO,
+                forecastHours
+            )
+        );
+    }
+
+    private static String joinCoordinates(List<City> cities, ToDoubleFunction<City> coordinate) {
+        return cities.stream()
+                .map(city -> Double.toString(coordinate.applyAsDouble(city)))
+                .collect(Collectors.joining(","));
+    }
+}
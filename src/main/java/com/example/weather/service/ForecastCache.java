@@ -0,0 +1,127 @@
+package com.example.weather.service;
+
+import com.example.weather.model.CacheStats;
+import com.example.weather.model.CachedForecast;
+import com.example.weather.model.City;
+import com.example.weather.model.WeatherData;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded per-city forecast cache with stale-while-revalidate semantics.
+ * Entries older than the soft TTL are still served but flagged as stale so the
+ * caller can refresh them in the background; entries older than the hard TTL
+ * are no longer served, but are kept as the city's last known forecast until
+ * they are replaced or the size bound evicts them. The default soft TTL of one
+ * hour matches the hourly model refresh of Open-Meteo.
+ */
+@ApplicationScoped
+public class ForecastCache {
+
+    @ConfigProperty(name = "weather.cache.soft-ttl", defaultValue = "1h")
+    Duration softTtl;
+
+    @ConfigProperty(name = "weather.cache.hard-ttl", defaultValue = "3h")
+    Duration hardTtl;
+
+    @ConfigProperty(name = "weather.cache.max-size", defaultValue = "1000")
+    int maxSize;
+
+    Clock clock = Clock.systemUTC();
+
+    private final Map<City, CachedForecast> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public Optional<CachedForecast> get(City city) {
+        var now = clock.instant();
+        var entry = entries.get(city);
+        if (entry == null || entry.isExpired(now)) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        if (entry.isStale(now)) {
+            staleHits.increment();
+        }
+        return Optional.of(entry);
+    }
+
+    public void put(City city, WeatherData data) {
+        var now = clock.instant();
+        var hard = hardTtl.compareTo(softTtl) < 0 ? softTtl : hardTtl;
+        entries.put(city, new CachedForecast(data, now, now.plus(softTtl), now.plus(hard)));
+        while (entries.size() > maxSize && evictSoonestExpiring()) {
+            // keep evicting until the cache is back within bounds
+        }
+    }
+
+    /**
+     * The entry cached for the city, even if expired; does not count as a lookup.
+     * An expired entry holds the last forecast fetched for the city.
+     */
+    public Optional<CachedForecast> peek(City city) {
+        return Optional.ofNullable(entries.get(city));
+    }
+
+    /**
+     * Whether the given entry is still the one cached for the city; does not count as a lookup.
+     */
+    public boolean contains(City city, CachedForecast forecast) {
+        return entries.get(city) == forecast;
+    }
+
+    /**
+     * Time until the cached forecast turns stale, if {@code data} is still the forecast
+     * cached for the city; zero once it is stale. Does not count as a lookup.
+     */
+    public Optional<Duration> timeToStale(City city, WeatherData data) {
+        var entry = entries.get(city);
+        if (entry == null || entry.data() != data) {
+            return Optional.empty();
+        }
+        var remaining = Duration.between(clock.instant(), entry.staleAt());
+        return Optional.of(remaining.isNegative() ? Duration.ZERO : remaining);
+    }
+
+    /**
+     * How long a cached forecast stays fresh. Other beans see this cache through its client
+     * proxy, whose fields are never set, so they must read the setting through this method.
+     */
+    public Duration softTtl() {
+        return softTtl;
+    }
+
+    public boolean isStale(CachedForecast forecast) {
+        return forecast.isStale(clock.instant());
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), staleHits.sum(), misses.sum(), evictions.sum(), entries.size());
+    }
+
+    /**
+     * Removes the entry closest to expiry, so expired entries go first. Once the cache is
+     * full, every insert scans all {@code weather.cache.max-size} entries; each insert
+     * follows an upstream fetch, which costs far more than scanning the default 1000.
+     */
+    private boolean evictSoonestExpiring() {
+        return entries.entrySet().stream()
+                .min(Comparator.comparing(e -> e.getValue().expiresAt()))
+                .filter(e -> entries.remove(e.getKey(), e.getValue()))
+                .map(e -> {
+                    evictions.increment();
+                    return true;
+                })
+                .orElse(false);
+    }
+}
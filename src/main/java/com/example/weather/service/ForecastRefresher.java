@@ -0,0 +1,162 @@
+package com.example.weather.service;
+
+import com.example.weather.model.CachedForecast;
+import com.example.weather.model.City;
+import com.example.weather.model.RefreshStats;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the forecasts of all configured cities hot by refreshing each one shortly before
+ * it turns stale, so request threads are served from the cache instead of the network.
+ * <p>
+ * Every city has its own timer task. A refresh becomes due {@code weather.refresh.lead}
+ * before the cached forecast turns stale and is started a random part of
+ * {@code weather.refresh.jitter} earlier than that, which spreads refreshes of forecasts
+ * fetched together. A failed refresh is retried after {@code weather.refresh.retry-delay}.
+ * Nothing is refreshed when the mock service is in use, or when lead and jitter together
+ * are not shorter than {@code weather.cache.soft-ttl}: a forecast would then be due again
+ * as soon as it was fetched.
+ */
+@ApplicationScoped
+public class ForecastRefresher {
+
+    private static final Logger LOG = Logger.getLogger(ForecastRefresher.class);
+
+    @Inject
+    WeatherService weatherService;
+
+    @Inject
+    CityService cityService;
+
+    @Inject
+    ForecastCache forecastCache;
+
+    @ConfigProperty(name = "weather.refresh.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "weather.refresh.lead", defaultValue = "5m")
+    Duration lead;
+
+    @ConfigProperty(name = "weather.refresh.jitter", defaultValue = "2m")
+    Duration jitter;
+
+    @ConfigProperty(name = "weather.refresh.retry-delay", defaultValue = "1m")
+    Duration retryDelay;
+
+    @ConfigProperty(name = "weather.service.use-mock", defaultValue = "true")
+    boolean useMockService;
+
+    Clock clock = Clock.systemUTC();
+
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder lateRefreshes = new LongAdder();
+    private final LongAccumulator maxLagMillis = new LongAccumulator(Math::max, 0);
+    private volatile int cities;
+    private ScheduledExecutorService timer;
+
+    void onStart(@Observes StartupEvent event) {
+        start();
+    }
+
+    void start() {
+        if (!enabled || useMockService) {
+            return;
+        }
+        if (lead.plus(jitter).compareTo(forecastCache.softTtl()) >= 0) {
+            LOG.warnf("Background refresh disabled: weather.refresh.lead (%s) plus weather.refresh.jitter (%s) "
+                    + "must be shorter than weather.cache.soft-ttl (%s)", lead, jitter, forecastCache.softTtl());
+            return;
+        }
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "forecast-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        var allCities = cityService.getAllCities().values();
+        cities = allCities.size();
+        // The first check also picks up cities the startup warm-up could not fetch
+        allCities.forEach(city -> schedule(city, randomUpTo(jitter)));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (timer != null) {
+            timer.shutdownNow();
+        }
+    }
+
+    public RefreshStats stats() {
+        return new RefreshStats(cities, refreshes.sum(), failures.sum(), lateRefreshes.sum(), maxLagMillis.get());
+    }
+
+    private void check(City city) {
+        var cached = forecastCache.peek(city);
+        var now = clock.instant();
+        if (cached.isPresent() && now.isBefore(earliestStart(cached.get()))) {
+            schedule(city, delayUntilDue(cached.get(), now));
+            return;
+        }
+
+        var replacedStaleAt = cached.map(CachedForecast::staleAt);
+        weatherService.refresh(city).whenComplete((result, failure) -> {
+            if (failure != null || result == null || result.isEmpty()) {
+                failures.increment();
+                LOG.warnf("Background refresh for %s failed, retrying in %s", city.name(), retryDelay);
+                schedule(city, retryDelay);
+                return;
+            }
+            refreshes.increment();
+            replacedStaleAt.ifPresent(this::recordLag);
+            forecastCache.peek(city).ifPresentOrElse(
+                    refreshed -> schedule(city, delayUntilDue(refreshed, clock.instant())),
+                    () -> schedule(city, retryDelay));
+        });
+    }
+
+    private void recordLag(Instant replacedStaleAt) {
+        var lag = Duration.between(replacedStaleAt, clock.instant());
+        if (lag.isPositive()) {
+            lateRefreshes.increment();
+            maxLagMillis.accumulate(lag.toMillis());
+        }
+    }
+
+    /**
+     * Due time minus a random part of the jitter; never before {@link #earliestStart}.
+     */
+    private Duration delayUntilDue(CachedForecast forecast, Instant now) {
+        var due = forecast.staleAt().minus(lead);
+        return Duration.between(now, due).minus(randomUpTo(jitter));
+    }
+
+    private Instant earliestStart(CachedForecast forecast) {
+        return forecast.staleAt().minus(lead).minus(jitter);
+    }
+
+    private void schedule(City city, Duration delay) {
+        if (timer.isShutdown()) {
+            return;
+        }
+        timer.schedule(() -> check(city), Math.max(0, delay.toNanos()), TimeUnit.NANOSECONDS);
+    }
+
+    private static Duration randomUpTo(Duration bound) {
+        return bound.isPositive() ? Duration.ofMillis(ThreadLocalRandom.current().nextLong(bound.toMillis() + 1)) : Duration.ZERO;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.weather.service;
+
+import com.example.weather.model.WarmupStats;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Fills the forecast cache for every configured city at startup, so the first request
+ * per city after a deploy does not pay the upstream round trip. The warm-up runs in the
+ * background and the readiness check stays down until it has finished or timed out.
+ * Nothing is warmed when the mock service is in use.
+ */
+@ApplicationScoped
+public class ForecastWarmup {
+
+    private static final Logger LOG = Logger.getLogger(ForecastWarmup.class);
+
+    @Inject
+    WeatherService weatherService;
+
+    @Inject
+    CityService cityService;
+
+    @ConfigProperty(name = "weather.warmup.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "weather.warmup.timeout", defaultValue = "30s")
+    Duration timeout;
+
+    @ConfigProperty(name = "weather.service.use-mock", defaultValue = "true")
+    boolean useMockService;
+
+    private volatile WarmupStats stats = new WarmupStats(WarmupStats.State.PENDING, 0, 0, null);
+
+    void onStart(@Observes StartupEvent event) {
+        start();
+    }
+
+    void start() {
+        var cities = cityService.getAllCities().values();
+        if (!enabled || useMockService) {
+            stats = new WarmupStats(WarmupStats.State.SKIPPED, cities.size(), 0, null);
+            return;
+        }
+
+        LOG.infof("Warming up forecasts for %d cities", cities.size());
+        stats = new WarmupStats(WarmupStats.State.RUNNING, cities.size(), 0, null);
+        var started = System.nanoTime();
+        weatherService.prefetch(cities)
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((warmed, failure) -> {
+                    var duration = Duration.ofNanos(System.nanoTime() - started).toMillis();
+                    if (failure instanceof TimeoutException) {
+                        LOG.warnf("Forecast warm-up did not finish within %s, remaining cities are fetched on demand", timeout);
+                        stats = new WarmupStats(WarmupStats.State.TIMED_OUT, cities.size(), 0, duration);
+                    } else if (failure != null) {
+                        LOG.errorf(failure, "Forecast warm-up failed after %d ms", duration);
+                        stats = new WarmupStats(WarmupStats.State.COMPLETED, cities.size(), 0, duration);
+                    } else {
+                        LOG.infof("Forecast warm-up cached %d of %d cities in %d ms", warmed, cities.size(), duration);
+                        stats = new WarmupStats(WarmupStats.State.COMPLETED, cities.size(), warmed, duration);
+                    }
+                });
+    }
+
+    public WarmupStats stats() {
+        return stats;
+    }
+}
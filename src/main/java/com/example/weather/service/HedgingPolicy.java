@@ -0,0 +1,179 @@
+package com.example.weather.service;
+
+import com.example.weather.model.HedgeStats;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.Cancellable;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Hedged Open-Meteo calls: when a call has not answered within the usual upstream
+ * latency, an identical second call is sent and whichever answers first is used.
+ * <p>
+ * The hedge is sent after the {@code weather.hedge.percentile} percentile of recent call
+ * latencies, but never sooner than {@code weather.hedge.min-delay}, which also applies
+ * until enough calls have been measured. A call answered with an error does not trigger a
+ * hedge; once a hedge runs, the hedged call only fails if both calls fail. The slower call
+ * is cancelled, but its HTTP exchange keeps a connection (and in the thread-based execution
+ * modes a thread) until the response arrives or the client read timeout passes.
+ */
+@ApplicationScoped
+public class HedgingPolicy {
+
+    private static final int WINDOW = 512;
+    private static final int RECOMPUTE_EVERY = 16;
+
+    @ConfigProperty(name = "weather.hedge.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "weather.hedge.percentile", defaultValue = "95")
+    double percentile;
+
+    @ConfigProperty(name = "weather.hedge.min-delay", defaultValue = "200ms")
+    Duration minDelay;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder hedged = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+
+    // Latencies of the most recent calls in nanoseconds, guarded by the lock
+    private final ReentrantLock lock = new ReentrantLock();
+    private final long[] latencies = new long[WINDOW];
+    private long samples;
+    private volatile long percentileNanos;
+
+    /**
+     * Subscribes to the upstream call, and to a second one if the first is slow.
+     */
+    public <T> Uni<T> call(Supplier<Uni<T>> upstream) {
+        if (!enabled) {
+            return upstream.get();
+        }
+        return Uni.createFrom().emitter(emitter -> new HedgedCall<>(upstream, emitter).start());
+    }
+
+    public HedgeStats stats() {
+        return new HedgeStats(calls.sum(), hedged.sum(), hedgeWins.sum(), delay().toMillis());
+    }
+
+    Duration delay() {
+        return Duration.ofNanos(Math.max(minDelay.toNanos(), percentileNanos));
+    }
+
+    /**
+     * Adds a call latency; calls cut short by a winning hedge add the time until then,
+     * which keeps a slow upstream from pulling the delay down.
+     */
+    void recordLatency(long nanos) {
+        lock.lock();
+        try {
+            latencies[(int) (samples++ % WINDOW)] = nanos;
+            if (samples % RECOMPUTE_EVERY == 0) {
+                var window = Arrays.copyOf(latencies, (int) Math.min(samples, WINDOW));
+                Arrays.sort(window);
+                var rank = (int) Math.ceil(percentile / 100 * window.length) - 1;
+                percentileNanos = window[Math.clamp(rank, 0, window.length - 1)];
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * One hedged call; the first successful attempt completes it and cancels the rest.
+     */
+    private final class HedgedCall<T> {
+
+        private final Supplier<Uni<T>> upstream;
+        private final UniEmitter<? super T> emitter;
+        private final AtomicBoolean settled = new AtomicBoolean();
+        // Attempts subscribed to and not yet failed
+        private final AtomicInteger running = new AtomicInteger(1);
+        private final long started = System.nanoTime();
+        private volatile Cancellable primary;
+        private volatile Cancellable hedge;
+        private volatile Cancellable timer;
+
+        HedgedCall(Supplier<Uni<T>> upstream, UniEmitter<? super T> emitter) {
+            this.upstream = upstream;
+            this.emitter = emitter;
+        }
+
+        void start() {
+            calls.increment();
+            emitter.onTermination(this::cancelAll);
+            primary = attempt(false);
+            timer = Uni.createFrom().voidItem()
+                    .onItem().delayIt().by(delay())
+                    .subscribe().with(ignored -> startHedge());
+            cancelIfSettled(timer);
+        }
+
+        private void startHedge() {
+            if (settled.get()) {
+                return;
+            }
+            running.incrementAndGet();
+            hedged.increment();
+            hedge = attempt(true);
+            cancelIfSettled(hedge);
+        }
+
+        private Cancellable attempt(boolean isHedge) {
+            return Uni.createFrom().deferred(upstream::get).subscribe().with(
+                    item -> succeeded(isHedge, item),
+                    failure -> failed(failure));
+        }
+
+        private void succeeded(boolean isHedge, T item) {
+            if (!settled.compareAndSet(false, true)) {
+                return;
+            }
+            if (isHedge) {
+                hedgeWins.increment();
+            }
+            recordLatency(System.nanoTime() - started);
+            cancelAll();
+            emitter.complete(item);
+        }
+
+        private void failed(Throwable failure) {
+            if (running.decrementAndGet() > 0) {
+                return; // The other attempt may still succeed
+            }
+            if (settled.compareAndSet(false, true)) {
+                cancelAll();
+                emitter.fail(failure);
+            }
+        }
+
+        /**
+         * Covers subscriptions made while the call was being settled.
+         */
+        private void cancelIfSettled(Cancellable subscription) {
+            if (settled.get()) {
+                subscription.cancel();
+            }
+        }
+
+        /**
+         * Cancelling the attempt that settled the call has no effect.
+         */
+        private void cancelAll() {
+            settled.set(true);
+            for (var attempt : new Cancellable[] {timer, primary, hedge}) {
+                if (attempt != null) {
+                    attempt.cancel();
+                }
+            }
+        }
+    }
+}
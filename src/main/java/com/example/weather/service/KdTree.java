@@ -0,0 +1,234 @@
+package com.example.weather.service;
+
+import java.util.Arrays;
+
+/**
+ * Nearest-neighbour index over points on the Earth's surface.
+ * <p>
+ * Points are stored as unit vectors in three dimensions. The straight-line (chord) distance
+ * between two unit vectors grows with their great-circle distance, so the nearest points by
+ * chord are the nearest on the sphere, with no special cases at the poles or the antimeridian.
+ * The tree is balanced and implicit: the points are reordered so that each range has its
+ * median at the middle, split on x, y and z by turns, and no node objects are allocated.
+ */
+final class KdTree {
+
+    static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private final double[] x;
+    private final double[] y;
+    private final double[] z;
+    // Caller's id of the point at each tree position
+    private final int[] ids;
+
+    /**
+     * Index of the given points, identified by their position in the arrays.
+     */
+    KdTree(double[] latitudes, double[] longitudes) {
+        var size = latitudes.length;
+        var points = new double[3][size];
+        ids = new int[size];
+        for (var i = 0; i < size; i++) {
+            ids[i] = i;
+            toUnitVector(latitudes[i], longitudes[i], points, i);
+        }
+        build(points, 0, size, 0);
+        x = points[0];
+        y = points[1];
+        z = points[2];
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    /**
+     * Ids of the {@code limit} points nearest to the location, nearest first.
+     */
+    Neighbours nearest(double latitude, double longitude, int limit) {
+        var query = new double[3][1];
+        toUnitVector(latitude, longitude, query, 0);
+        var search = new Search(query[0][0], query[1][0], query[2][0], Math.min(limit, ids.length));
+        if (search.capacity > 0) {
+            search.visit(0, ids.length, 0);
+        }
+        return search.result();
+    }
+
+    /**
+     * Point ids with their great-circle distances, nearest first.
+     */
+    record Neighbours(int[] ids, double[] distancesKm) {}
+
+    private void build(double[][] points, int from, int to, int depth) {
+        while (to - from > 1) {
+            var axis = depth % 3;
+            var middle = (from + to) >>> 1;
+            select(points, axis, from, to - 1, middle);
+            build(points, from, middle, depth + 1);
+            from = middle + 1;
+            depth++;
+        }
+    }
+
+    /**
+     * Hoare's selection: moves the k-th smallest coordinate on the axis to position k,
+     * with no larger coordinate before it and no smaller one after it.
+     */
+    private void select(double[][] points, int axis, int left, int right, int k) {
+        var values = points[axis];
+        while (right > left) {
+            // Median of three keeps sorted input from degrading to quadratic time
+            var middle = (left + right) >>> 1;
+            if (values[middle] < values[left]) {
+                swap(points, left, middle);
+            }
+            if (values[right] < values[left]) {
+                swap(points, left, right);
+            }
+            if (values[right] < values[middle]) {
+                swap(points, middle, right);
+            }
+            var pivot = values[middle];
+            var i = left;
+            var j = right;
+            while (i <= j) {
+                while (values[i] < pivot) {
+                    i++;
+                }
+                while (values[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(points, i++, j--);
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void swap(double[][] points, int i, int j) {
+        for (var values : points) {
+            var value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+        var id = ids[i];
+        ids[i] = ids[j];
+        ids[j] = id;
+    }
+
+    private static void toUnitVector(double latitude, double longitude, double[][] points, int index) {
+        var phi = Math.toRadians(latitude);
+        var lambda = Math.toRadians(longitude);
+        var cosPhi = Math.cos(phi);
+        points[0][index] = cosPhi * Math.cos(lambda);
+        points[1][index] = cosPhi * Math.sin(lambda);
+        points[2][index] = Math.sin(phi);
+    }
+
+    /**
+     * One query: the best points so far in a max-heap on squared chord length.
+     */
+    private final class Search {
+
+        private final double qx;
+        private final double qy;
+        private final double qz;
+        private final int capacity;
+        private final double[] heapDistances;
+        private final int[] heapPositions;
+        private int count;
+
+        Search(double qx, double qy, double qz, int capacity) {
+            this.qx = qx;
+            this.qy = qy;
+            this.qz = qz;
+            this.capacity = capacity;
+            heapDistances = new double[capacity];
+            heapPositions = new int[capacity];
+        }
+
+        void visit(int from, int to, int depth) {
+            while (from < to) {
+                var middle = (from + to) >>> 1;
+                var dx = qx - x[middle];
+                var dy = qy - y[middle];
+                var dz = qz - z[middle];
+                offer(middle, dx * dx + dy * dy + dz * dz);
+
+                var diff = switch (depth % 3) {
+                    case 0 -> dx;
+                    case 1 -> dy;
+                    default -> dz;
+                };
+                // Nearer half first; the other half only if it can hold a closer point
+                var nearFrom = diff < 0 ? from : middle + 1;
+                var nearTo = diff < 0 ? middle : to;
+                var farFrom = diff < 0 ? middle + 1 : from;
+                var farTo = diff < 0 ? to : middle;
+                visit(nearFrom, nearTo, depth + 1);
+                if (count == capacity && diff * diff >= heapDistances[0]) {
+                    return;
+                }
+                from = farFrom;
+                to = farTo;
+                depth++;
+            }
+        }
+
+        private void offer(int position, double distance) {
+            if (count < capacity) {
+                var i = count++;
+                // Sift up
+                while (i > 0 && heapDistances[(i - 1) / 2] < distance) {
+                    heapDistances[i] = heapDistances[(i - 1) / 2];
+                    heapPositions[i] = heapPositions[(i - 1) / 2];
+                    i = (i - 1) / 2;
+                }
+                heapDistances[i] = distance;
+                heapPositions[i] = position;
+            } else if (distance < heapDistances[0]) {
+                // Replace the farthest and sift down
+                var i = 0;
+                while (true) {
+                    var child = 2 * i + 1;
+                    if (child >= count) {
+                        break;
+                    }
+                    if (child + 1 < count && heapDistances[child + 1] > heapDistances[child]) {
+                        child++;
+                    }
+                    if (heapDistances[child] <= distance) {
+                        break;
+                    }
+                    heapDistances[i] = heapDistances[child];
+                    heapPositions[i] = heapPositions[child];
+                    i = child;
+                }
+                heapDistances[i] = distance;
+                heapPositions[i] = position;
+            }
+        }
+
+        Neighbours result() {
+            var order = new Integer[count];
+            Arrays.setAll(order, i -> i);
+            Arrays.sort(order, (a, b) -> Double.compare(heapDistances[a], heapDistances[b]));
+            var resultIds = new int[count];
+            var distances = new double[count];
+            for (var i = 0; i < count; i++) {
+                resultIds[i] = ids[heapPositions[order[i]]];
+                var chord = Math.sqrt(heapDistances[order[i]]);
+                distances[i] = 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, chord / 2));
+            }
+            return new Neighbours(resultIds, distances);
+        }
+    }
+}
@@ -1,84 +1,203 @@
 package com.example.weather.service;
 
 import com.example.weather.model.City;
+import com.example.weather.model.HourlySeries;
 import com.example.weather.model.WeatherData;
+import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.List;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 import java.util.stream.IntStream;
 
+/**
+ * Generates mock forecasts. Random values come from the calling thread's
+ * {@link ThreadLocalRandom}, so concurrent requests never contend on a shared seed.
+ * <p>
+ * With {@code weather.mock.seed} set, each hour of a city's forecast is instead drawn from a
+ * {@link SplittableRandom} seeded with the configured seed, the city and the hour, so every
+ * node and every run serves the same forecast for the same hour. Forecast times are in UTC,
+ * whatever the time zone of the node.
+ * <p>
+ * With {@code weather.mock.precomputed}, a city's forecast is generated on its first request
+ * in each hour, starting from the top of the hour, and the same immutable instance is served
+ * for the rest of the hour. Requests then allocate no forecast, and since
+ * {@link EncodedForecastCache} keeps the encoding of a forecast instance, its JSON is only
+ * serialized once per hour; the mock behaves like a warmed forecast cache. Like that cache,
+ * it holds at most {@code weather.cache.max-size} forecasts; cities beyond those get a
+ * forecast generated per request.
+ */
 @ApplicationScoped
 public class MockWeatherService {
 
     private static final Logger LOG = Logger.getLogger(MockWeatherService.class);
-    private final Random random = new Random();
+    private static final long SECONDS_PER_HOUR = 3600;
+    private static final long MILLIS_PER_HOUR = SECONDS_PER_HOUR * 1000;
+
+    @ConfigProperty(name = "weather.mock.seed")
+    Optional<Long> seed = Optional.empty();
+
+    @ConfigProperty(name = "weather.mock.precomputed", defaultValue = "false")
+    boolean precomputed;
+
+    @ConfigProperty(name = "weather.cache.max-size", defaultValue = "1000")
+    int maxTables = 1000;
+
+    Clock clock = Clock.systemUTC();
+
+    // Forecasts of the current hour per city, when precomputed; cleared as the hour turns
+    private final Map<City, HourlyTable> tables = new ConcurrentHashMap<>();
+    private volatile long tablesHour = Long.MIN_VALUE;
+
+    private record HourlyTable(long hour, WeatherData forecast) {}
 
     @Inject
     CityService cityService;
 
+    @Inject
+    ExecutionStrategy executionStrategy;
+
+    @Inject
+    RequestLog requestLog;
+
     public Optional<WeatherData> getWeatherByCityCode(String cityCode) {
-        LOG.infof("Looking for weather data for city code: %s", cityCode);
-        
-        return cityService.findCityByCode(cityCode)
-                .map(this::generateMockWeatherData)
-                .map(weatherData -> {
-                    LOG.infof("Generated mock weather data for city %s", weatherData.cityName());
-                    return weatherData;
-                });
+        LOG.debugf("Looking for weather data for city code: %s", cityCode);
+        requestLog.lookup(cityCode);
+
+        var weatherData = cityService.findCityByCode(cityCode).map(this::forecastFor);
+        if (weatherData.isEmpty()) {
+            requestLog.unknownCity();
+        }
+        return weatherData;
+    }
+
+    /**
+     * Mock data is generated in memory, so the asynchronous variant completes as soon
+     * as it runs; the execution mode only decides which thread generates it.
+     */
+    public Uni<Optional<WeatherData>> getWeatherByCityCodeAsync(String cityCode) {
+        return executionStrategy.dispatch(() -> Uni.createFrom().item(() -> getWeatherByCityCode(cityCode)));
+    }
+
+    /**
+     * How long clients may reuse a forecast: precomputed forecasts until the hour turns,
+     * forecasts generated per request not at all.
+     */
+    public Duration freshFor() {
+        if (!precomputed) {
+            return Duration.ZERO;
+        }
+        return Duration.ofMillis(MILLIS_PER_HOUR - Math.floorMod(clock.millis(), MILLIS_PER_HOUR));
+    }
+
+    WeatherData forecastFor(City city) {
+        if (!precomputed) {
+            return generateMockWeatherData(city);
+        }
+        var hour = Math.floorDiv(clock.millis(), MILLIS_PER_HOUR);
+        if (hour != tablesHour) {
+            // Tables of earlier hours left by a racing request are replaced on their next lookup
+            tables.clear();
+            tablesHour = hour;
+        }
+        var table = tables.get(city);
+        if (table == null && tables.size() >= maxTables) {
+            return generateMockWeatherData(city, now().truncatedTo(ChronoUnit.HOURS));
+        }
+        if (table == null || table.hour() != hour) {
+            table = tables.compute(city, (key, current) -> {
+                if (current != null && current.hour() == hour) {
+                    return current; // Generated by a concurrent request
+                }
+                var startOfHour = now().truncatedTo(ChronoUnit.HOURS);
+                return new HourlyTable(hour, generateMockWeatherData(key, startOfHour));
+            });
+        }
+        return table.forecast();
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.ofInstant(clock.instant(), ZoneOffset.UTC);
     }
 
     /**
      * Modern weather data generation using enhanced Stream API and functional programming.
      * Demonstrates Java 21 features like enhanced switch expressions and modern collection processing.
      */
-    private WeatherData generateMockWeatherData(City city) {
-        LOG.infof("Found city: %s at coordinates (%f, %f)", 
-                city.name(), city.latitude(), city.longitude());
-        
-        var now = LocalDateTime.now();
-        var formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+    WeatherData generateMockWeatherData(City city) {
+        return generateMockWeatherData(city, now().truncatedTo(ChronoUnit.MINUTES));
+    }
+
+    private WeatherData generateMockWeatherData(City city, LocalDateTime now) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debugf("Generating mock weather data for %s at coordinates (%f, %f)",
+                    city.name(), city.latitude(), city.longitude());
+        }
         
-        // Generate 24 hours of weather data using modern Stream API
-        var hourlyWeatherList = IntStream.range(0, 24)
-                .mapToObj(hour -> generateHourlyWeather(now.plusHours(hour), city.latitude(), formatter))
-                .toList(); // Java 16+ toList()
+        // Generate 24 hours of weather data straight into columnar storage
+        var hourlySeries = HourlySeries.builder(24);
+        IntStream.range(0, 24)
+                .forEach(hour -> generateHourlyWeather(hourlySeries, now.plusHours(hour), city));
         
         return new WeatherData(
             city.name(),
             city.latitude(),
             city.longitude(),
-            hourlyWeatherList
+            hourlySeries.build()
         );
     }
     
     /**
      * Generate individual hourly weather using modern Java patterns.
      */
-    private WeatherData.HourlyWeather generateHourlyWeather(LocalDateTime time, double latitude, DateTimeFormatter formatter) {
-        var timeStr = time.format(formatter);
-        var baseTemp = calculateBaseTemperature(latitude);
+    private void generateHourlyWeather(HourlySeries.Builder series, LocalDateTime time, City city) {
+        var epochSecond = HourlySeries.toEpochSecond(time);
+        var random = randomFor(city, epochSecond);
+        var baseTemp = calculateBaseTemperature(city.latitude(), time.getMonthValue());
         var hourlyVariation = (random.nextDouble() - 0.5) * 6; // ±3°C variation
         var temperature = baseTemp + hourlyVariation;
-        var weatherCode = generateWeatherCode();
+        var weatherCode = generateWeatherCode(random);
         
-        return new WeatherData.HourlyWeather(timeStr, temperature, weatherCode);
+        series.add(epochSecond, temperature, weatherCode);
+    }
+
+    /**
+     * The generator for one hour of a city's forecast. Seeds are built from the city's name and
+     * coordinates, so places sharing a name get different forecasts. {@link String#hashCode()},
+     * {@link Double#hashCode(double)} and {@link SplittableRandom} are all specified by the JDK,
+     * so they draw the same values on every JVM.
+     */
+    private RandomGenerator randomFor(City city, long epochSecond) {
+        if (seed.isEmpty()) {
+            return ThreadLocalRandom.current();
+        }
+        var hour = Math.floorDiv(epochSecond, SECONDS_PER_HOUR);
+        var cityHash = (city.name().hashCode() * 31 + Double.hashCode(city.latitude())) * 31
+                + Double.hashCode(city.longitude());
+        return new SplittableRandom((seed.get() * 31 + cityHash) * 31 + hour);
     }
 
     /**
      * Enhanced temperature calculation using modern switch expressions (Java 14+).
      * Demonstrates pattern matching and guard conditions.
      */
-    private double calculateBaseTemperature(double latitude) {
+    private double calculateBaseTemperature(double latitude, int month) {
         // Base temperature calculation: colder further north
         var baseTemp = 20 - (latitude - 60) * 2;
         
         // Seasonal variation using modern switch expressions
-        var seasonalAdjustment = switch (LocalDateTime.now().getMonthValue()) {
+        var seasonalAdjustment = switch (month) {
             case 12, 1, 2 -> -15; // Winter
             case 3, 4, 5 -> -5;   // Spring  
             case 6, 7, 8 -> 5;    // Summer
@@ -93,7 +212,7 @@ public class MockWeatherService {
      * Enhanced weather code generation using modern Java patterns.
      * Demonstrates functional programming and enhanced random operations.
      */
-    private int generateWeatherCode() {
+    private int generateWeatherCode(RandomGenerator random) {
         var rand = random.nextDouble();
         
         // Using modern switch expressions with pattern matching
@@ -7,16 +7,70 @@ import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.MediaType;
 import com.example.weather.model.WeatherResponse;
+import io.smallrye.mutiny.Uni;
+import java.util.List;
 
+/**
+ * Open-Meteo forecast API. Only the hourly variables the application shows are requested,
+ * and {@code forecast_hours} limits the horizon to the hours counted from the current
+ * hour, instead of the default of seven whole days.
+ */
 @RegisterRestClient(configKey = "openmeteo-api")
 public interface OpenMeteoClient {
 
+    String HOURLY_VARIABLES = "temperature_2m,weather_code";
+    String TIMEZONE_AUTO = "auto";
+
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     WeatherResponse getWeatherData(
         @QueryParam("latitude") double latitude,
         @QueryParam("longitude") double longitude,
         @QueryParam("hourly") String hourly,
-        @QueryParam("timezone") String timezone
+        @QueryParam("timezone") String timezone,
+        @QueryParam("forecast_hours") int forecastHours
+    );
+
+    /**
+     * Multi-location variant taking comma-separated coordinate lists.
+     * Open-Meteo answers with one forecast per location in request order, but only
+     * wraps them in an array when more than one location is requested, so callers
+     * must pass at least two locations.
+     */
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    List<WeatherResponse> getWeatherDataBatch(
+        @QueryParam("latitude") String latitudes,
+        @QueryParam("longitude") String longitudes,
+        @QueryParam("hourly") String hourly,
+        @QueryParam("timezone") String timezone,
+        @QueryParam("forecast_hours") int forecastHours
+    );
+
+    /**
+     * Non-blocking variant of {@link #getWeatherData}; the response is delivered on the
+     * I/O thread without occupying a worker thread while the request is in flight.
+     */
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    Uni<WeatherResponse> getWeatherDataAsync(
+        @QueryParam("latitude") double latitude,
+        @QueryParam("longitude") double longitude,
+        @QueryParam("hourly") String hourly,
+        @QueryParam("timezone") String timezone,
+        @QueryParam("forecast_hours") int forecastHours
+    );
+
+    /**
+     * Non-blocking variant of {@link #getWeatherDataBatch}.
+     */
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    Uni<List<WeatherResponse>> getWeatherDataBatchAsync(
+        @QueryParam("latitude") String latitudes,
+        @QueryParam("longitude") String longitudes,
+        @QueryParam("hourly") String hourly,
+        @QueryParam("timezone") String timezone,
+        @QueryParam("forecast_hours") int forecastHours
     );
 }
\ No newline at end of file
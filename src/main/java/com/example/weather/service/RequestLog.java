@@ -0,0 +1,118 @@
+package com.example.weather.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * INFO-level view of the request hot path that does not cost a log line per request.
+ * <p>
+ * Per-request detail is logged at DEBUG by the services themselves. This class counts the
+ * requests and logs a summary of the counts every {@code weather.log.summary-interval}
+ * if anything happened. With {@code weather.log.sample-rate} set to N, about one lookup
+ * in N is also logged at INFO; the sample is drawn per thread, so recording a request
+ * touches no shared state beyond the striped counters.
+ */
+@ApplicationScoped
+public class RequestLog {
+
+    private static final Logger LOG = Logger.getLogger(RequestLog.class);
+
+    @ConfigProperty(name = "weather.log.summary-interval", defaultValue = "60s")
+    Duration summaryInterval;
+
+    @ConfigProperty(name = "weather.log.sample-rate", defaultValue = "0")
+    int sampleRate;
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder unknownCities = new LongAdder();
+    private final LongAdder upstreamFetches = new LongAdder();
+    private final LongAdder upstreamFailures = new LongAdder();
+    private final LongAdder upstreamSkipped = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private volatile long countingSince = System.nanoTime();
+    private ScheduledExecutorService timer;
+
+    @PostConstruct
+    void init() {
+        if (summaryInterval.isZero()) {
+            return;
+        }
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "request-log");
+            thread.setDaemon(true);
+            return thread;
+        });
+        var interval = summaryInterval.toNanos();
+        timer.scheduleAtFixedRate(this::logSummary, interval, interval, TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (timer != null) {
+            timer.shutdownNow();
+            logSummary();
+        }
+    }
+
+    public void lookup(String cityCode) {
+        lookups.increment();
+        if (sampleRate > 0 && ThreadLocalRandom.current().nextInt(sampleRate) == 0) {
+            LOG.infof("Sampled lookup (1 in %d): city code %s", sampleRate, cityCode);
+        }
+    }
+
+    public void unknownCity() {
+        unknownCities.increment();
+    }
+
+    public void upstreamFetch() {
+        upstreamFetches.increment();
+    }
+
+    public void upstreamFailure() {
+        upstreamFailures.increment();
+    }
+
+    /**
+     * A fetch the circuit breaker or rate limiter did not send.
+     */
+    public void upstreamSkipped() {
+        upstreamSkipped.increment();
+    }
+
+    public void fallback() {
+        fallbacks.increment();
+    }
+
+    /**
+     * Logs the counts since the previous summary and starts counting from zero.
+     *
+     * @return whether there was anything to log
+     */
+    boolean logSummary() {
+        var requests = lookups.sumThenReset();
+        var unknown = unknownCities.sumThenReset();
+        var fetches = upstreamFetches.sumThenReset();
+        var failures = upstreamFailures.sumThenReset();
+        var skipped = upstreamSkipped.sumThenReset();
+        var servedFallbacks = fallbacks.sumThenReset();
+        var now = System.nanoTime();
+        var seconds = TimeUnit.NANOSECONDS.toSeconds(now - countingSince);
+        countingSince = now;
+        if (requests + fetches == 0) {
+            return false;
+        }
+        LOG.infof("Last %ds: %d lookups (%d unknown cities), %d upstream fetches (%d failed, %d skipped), %d fallback forecasts",
+                seconds, requests, unknown, fetches, failures, skipped, servedFallbacks);
+        return true;
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.weather.service;
+
+import com.example.weather.model.CircuitBreakerStats;
+import com.example.weather.model.CircuitBreakerStats.State;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.WebApplicationException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Guards the Open-Meteo calls, so an unavailable upstream costs one failed call per
+ * {@code weather.circuit-breaker.open-duration} instead of a client timeout per request.
+ * <p>
+ * The circuit opens after {@code weather.circuit-breaker.failure-threshold} consecutive
+ * failed calls; while it is open, calls fail immediately with an
+ * {@link UpstreamUnavailableException}. Once the open duration has passed the circuit is
+ * half-open and lets up to {@code weather.circuit-breaker.half-open-probes} calls through:
+ * it closes when all of them succeed and opens again on the first failure. A call only
+ * affects the state it was started in, so late results of earlier calls are ignored, and a
+ * call that was never sent, such as one shed by the rate limiter, does not count.
+ */
+@ApplicationScoped
+public class UpstreamCircuitBreaker {
+
+    private static final Logger LOG = Logger.getLogger(UpstreamCircuitBreaker.class);
+
+    @ConfigProperty(name = "weather.circuit-breaker.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "weather.circuit-breaker.failure-threshold", defaultValue = "5")
+    int failureThreshold;
+
+    @ConfigProperty(name = "weather.circuit-breaker.open-duration", defaultValue = "30s")
+    Duration openDuration;
+
+    @ConfigProperty(name = "weather.circuit-breaker.half-open-probes", defaultValue = "1")
+    int halfOpenProbes;
+
+    Clock clock = Clock.systemUTC();
+
+    /**
+     * One period in a single state; a new instance is created on every transition.
+     */
+    private record Phase(State state, Instant openUntil) {}
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final LongAdder opened = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private volatile Phase phase = new Phase(State.CLOSED, Instant.MIN);
+    // Probe bookkeeping of the current half-open phase, guarded by the lock
+    private int probesStarted;
+    private int probesSucceeded;
+
+    /**
+     * Subscribes to the upstream call if the circuit permits it, and records its outcome.
+     */
+    public <T> Uni<T> call(Supplier<Uni<T>> upstream) {
+        if (!enabled) {
+            return upstream.get();
+        }
+        return Uni.createFrom().deferred(() -> {
+            var permit = acquire();
+            if (permit == null) {
+                rejected.increment();
+                return Uni.createFrom().failure(new UpstreamUnavailableException("Open-Meteo circuit breaker is open"));
+            }
+            return Uni.createFrom().deferred(upstream::get)
+                    .onItemOrFailure().invoke((item, failure) -> onResult(permit, failure))
+                    .onCancellation().invoke(() -> release(permit));
+        });
+    }
+
+    public CircuitBreakerStats stats() {
+        return new CircuitBreakerStats(phase.state(), consecutiveFailures.get(), opened.sum(), rejected.sum());
+    }
+
+    /**
+     * The phase the call is started in, or {@code null} if the call is not permitted.
+     */
+    private Phase acquire() {
+        var current = phase;
+        if (current.state() == State.CLOSED) {
+            return current;
+        }
+        if (current.state() == State.OPEN && clock.instant().isBefore(current.openUntil())) {
+            return null;
+        }
+        lock.lock();
+        try {
+            current = phase;
+            if (current.state() == State.OPEN) {
+                if (clock.instant().isBefore(current.openUntil())) {
+                    return null;
+                }
+                probesStarted = 0;
+                probesSucceeded = 0;
+                current = transition(new Phase(State.HALF_OPEN, Instant.MIN));
+                LOG.infof("Open-Meteo circuit half-open, probing with up to %d calls", halfOpenProbes);
+            }
+            if (current.state() == State.HALF_OPEN) {
+                if (probesStarted >= halfOpenProbes) {
+                    return null;
+                }
+                probesStarted++;
+            }
+            return current;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onResult(Phase permit, Throwable failure) {
+        if (phase != permit) {
+            return;
+        }
+        if (failure instanceof UpstreamUnavailableException) {
+            release(permit);
+            return;
+        }
+        var succeeded = failure == null || isClientError(failure);
+        if (permit.state() == State.CLOSED) {
+            if (succeeded) {
+                if (consecutiveFailures.get() != 0) {
+                    consecutiveFailures.set(0);
+                }
+            } else if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+                open(permit, failure);
+            }
+            return;
+        }
+        lock.lock();
+        try {
+            if (phase != permit) {
+                return;
+            }
+            if (!succeeded) {
+                open(permit, failure);
+            } else if (++probesSucceeded >= halfOpenProbes) {
+                consecutiveFailures.set(0);
+                transition(new Phase(State.CLOSED, Instant.MIN));
+                LOG.infof("Open-Meteo circuit closed after %d successful probes", probesSucceeded);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A probe that was cancelled or not sent gives its slot to the next call; it says
+     * nothing about the upstream.
+     */
+    private void release(Phase permit) {
+        if (permit.state() != State.HALF_OPEN) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (phase == permit) {
+                probesStarted--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void open(Phase from, Throwable failure) {
+        lock.lock();
+        try {
+            if (phase != from) {
+                return; // Another failure of the same phase already opened the circuit
+            }
+            transition(new Phase(State.OPEN, clock.instant().plus(openDuration)));
+            opened.increment();
+            LOG.warnf(failure, "Open-Meteo circuit opened after %s, failing fast for %s",
+                    from.state() == State.CLOSED ? consecutiveFailures.get() + " consecutive failures" : "a failed probe",
+                    openDuration);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Phase transition(Phase next) {
+        phase = next;
+        return next;
+    }
+
+    /**
+     * Rejected requests say nothing about the health of Open-Meteo, except for rate limiting.
+     */
+    private static boolean isClientError(Throwable failure) {
+        if (failure instanceof WebApplicationException e && e.getResponse() != null) {
+            var status = e.getResponse().getStatus();
+            return status >= 400 && status < 500 && status != 429;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.weather.service;
+
+import com.example.weather.model.RateLimitStats;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Token bucket keeping Open-Meteo requests within the per-IP usage limits.
+ * <p>
+ * The bucket holds {@code weather.rate-limit.burst} permits and refills at
+ * {@code weather.rate-limit.permits-per-second}. A request takes one permit per location.
+ * When the bucket is short, the request is delayed until enough permits have been refilled,
+ * without holding a thread, as long as that takes at most {@code weather.rate-limit.max-wait};
+ * otherwise it is shed with an {@link UpstreamUnavailableException} and the caller serves a
+ * cached forecast instead.
+ * <p>
+ * The bucket is a single timestamp, the time at which it will be full again, which is
+ * updated with compare-and-set, so taking permits never locks.
+ */
+@ApplicationScoped
+public class UpstreamRateLimiter {
+
+    @ConfigProperty(name = "weather.rate-limit.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "weather.rate-limit.permits-per-second", defaultValue = "5")
+    double permitsPerSecond;
+
+    @ConfigProperty(name = "weather.rate-limit.burst", defaultValue = "50")
+    int burst;
+
+    @ConfigProperty(name = "weather.rate-limit.max-wait", defaultValue = "500ms")
+    Duration maxWait;
+
+    LongSupplier nanoClock = System::nanoTime;
+
+    // Time on the nano clock at which the bucket is full again; in the past while it is full
+    private final AtomicLong fullAt = new AtomicLong(Long.MIN_VALUE);
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder delayed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Subscribes to the upstream request once {@code permits} permits are available.
+     */
+    public <T> Uni<T> call(int permits, Supplier<Uni<T>> upstream) {
+        if (!enabled) {
+            return upstream.get();
+        }
+        return Uni.createFrom().deferred(() -> {
+            var wait = reserve(permits);
+            if (wait < 0) {
+                rejected.increment();
+                return Uni.createFrom().failure(new UpstreamUnavailableException("Open-Meteo request budget exhausted"));
+            }
+            acquired.increment();
+            if (wait == 0) {
+                return Uni.createFrom().deferred(upstream::get);
+            }
+            delayed.increment();
+            return Uni.createFrom().voidItem()
+                    .onItem().delayIt().by(Duration.ofNanos(wait))
+                    .onItem().transformToUni(ignored -> upstream.get());
+        });
+    }
+
+    public RateLimitStats stats() {
+        if (!enabled) {
+            return new RateLimitStats(acquired.sum(), delayed.sum(), rejected.sum(), null);
+        }
+        // Permits promised to delayed calls are not available either
+        var available = Math.max(0, burst - (double) debt(nanoClock.getAsLong()) / intervalNanos());
+        return new RateLimitStats(acquired.sum(), delayed.sum(), rejected.sum(), available);
+    }
+
+    /**
+     * The most permits a single call can take: the burst plus what refills within the
+     * maximum wait. Calls needing more are always shed.
+     */
+    public int maxPermits() {
+        if (!enabled) {
+            return Integer.MAX_VALUE;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, burst + maxWait.toNanos() / intervalNanos());
+    }
+
+    /**
+     * Takes the permits if they are available within the maximum wait.
+     *
+     * @return nanoseconds until the permits are available, or -1 if they were not taken
+     */
+    long reserve(int permits) {
+        var interval = intervalNanos();
+        var capacity = burst * interval;
+        var limit = capacity + maxWait.toNanos();
+        while (true) {
+            var now = nanoClock.getAsLong();
+            var current = fullAt.get();
+            var next = Math.max(current, now) + permits * interval;
+            var debt = next - now;
+            if (debt > limit) {
+                return -1;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return Math.max(0, debt - capacity);
+            }
+        }
+    }
+
+    /**
+     * Time until the bucket is full again; zero while it is full.
+     */
+    private long debt(long now) {
+        return Math.max(fullAt.get(), now) - now;
+    }
+
+    private long intervalNanos() {
+        return (long) (1_000_000_000 / permitsPerSecond);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.weather.service;
+
+/**
+ * Signals that an Open-Meteo call was not attempted, because the circuit breaker is open or
+ * the request budget is exhausted. Nothing failed at the call site, so no stack trace is captured.
+ */
+public class UpstreamUnavailableException extends RuntimeException {
+
+    public UpstreamUnavailableException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -1,15 +1,23 @@
 package com.example.weather.service;
 
+import com.example.weather.model.CachedForecast;
 import com.example.weather.model.City;
+import com.example.weather.model.HourlySeries;
 import com.example.weather.model.WeatherData;
 import com.example.weather.model.WeatherResponse;
+import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.rest.client.inject.RestClient;
 import org.jboss.logging.Logger;
-import java.util.List;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.IntStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 
 @ApplicationScoped
 public class WeatherService {
@@ -19,83 +27,242 @@ public class WeatherService {
     @Inject
     CityService cityService;
 
+    @Inject
+    ForecastCache forecastCache;
+
     @Inject
     @RestClient
     OpenMeteoClient openMeteoClient;
 
+    @Inject
+    ForecastBatcher forecastBatcher;
+
+    @Inject
+    ExecutionStrategy executionStrategy;
+
+    @Inject
+    UpstreamCircuitBreaker circuitBreaker;
+
+    @Inject
+    HedgingPolicy hedgingPolicy;
+
+    @Inject
+    UpstreamRateLimiter rateLimiter;
+
+    @Inject
+    MockWeatherService mockWeatherService;
+
+    @Inject
+    RequestLog requestLog;
+
+    @ConfigProperty(name = "weather.batch.enabled", defaultValue = "true")
+    boolean batchingEnabled;
+
+    @ConfigProperty(name = "weather.forecast.hours", defaultValue = "48")
+    int forecastHours;
+
+    @ConfigProperty(name = "weather.circuit-breaker.mock-fallback", defaultValue = "false")
+    boolean mockFallback;
+
+    // Upstream fetches currently in progress, shared by all concurrent callers for the same city
+    private final Map<City, CompletableFuture<Optional<WeatherData>>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Blocking variant kept for callers running on worker threads.
+     * Must not be called from the event loop.
+     */
     public Optional<WeatherData> getWeatherByCityCode(String cityCode) {
-        LOG.infof("Looking for weather data for city code: %s", cityCode);
-        
+        return getWeatherByCityCodeAsync(cityCode).await().indefinitely();
+    }
+
+    /**
+     * Non-blocking lookup: cache hits complete immediately, misses complete when the
+     * upstream response arrives without parking a thread in the meantime.
+     */
+    public Uni<Optional<WeatherData>> getWeatherByCityCodeAsync(String cityCode) {
+        return executionStrategy.dispatch(() -> lookup(cityCode));
+    }
+
+    private Uni<Optional<WeatherData>> lookup(String cityCode) {
+        LOG.debugf("Looking for weather data for city code: %s", cityCode);
+        requestLog.lookup(cityCode);
+
         return cityService.findCityByCode(cityCode)
-                .map(this::fetchWeatherData)
+                .map(city -> Uni.createFrom().completionStage(() -> getCachedOrFetch(city)))
                 .orElseGet(() -> {
-                    LOG.warnf("City not found: %s", cityCode);
+                    LOG.debugf("City not found: %s", cityCode);
+                    requestLog.unknownCity();
+                    return Uni.createFrom().item(Optional.empty());
+                });
+    }
+
+    /**
+     * Fetches a fresh forecast for the city into the cache, regardless of what is cached.
+     * Joins a fetch that is already in flight for the city instead of starting another.
+     */
+    public CompletableFuture<Optional<WeatherData>> refresh(City city) {
+        return fetchCoalesced(city);
+    }
+
+    /**
+     * Loads the forecasts of the given cities into the cache. All fetches are started at
+     * once, so with batching enabled they reach Open-Meteo as one multi-location request
+     * per {@code weather.batch.max-size} cities.
+     *
+     * @return future completed with the number of cities whose forecast was cached
+     */
+    public CompletableFuture<Integer> prefetch(Collection<City> cities) {
+        var fetches = cities.stream()
+                .map(this::refresh)
+                .toList();
+        return CompletableFuture.allOf(fetches.toArray(CompletableFuture[]::new))
+                .handle((ignored, failure) -> (int) fetches.stream()
+                        .filter(fetch -> !fetch.isCompletedExceptionally() && fetch.join().isPresent())
+                        .count());
+    }
+
+    /**
+     * Serves the forecast from the cache and only goes upstream on a miss.
+     * Stale entries are returned immediately while a background refresh runs.
+     * Failed fetches are not cached so the next request retries, and the caller gets
+     * the {@linkplain #fallback fallback forecast} instead.
+     */
+    private CompletionStage<Optional<WeatherData>> getCachedOrFetch(City city) {
+        return forecastCache.get(city)
+                .map(cached -> {
+                    if (forecastCache.isStale(cached)) {
+                        refreshInBackground(city, cached);
+                    }
+                    return CompletableFuture.completedFuture(Optional.of(cached.data()));
+                })
+                .orElseGet(() -> fetchCoalesced(city)
+                        .thenApply(result -> result.isPresent() ? result : fallback(city)));
+    }
+
+    /**
+     * The last forecast fetched for the city, however old, or a mock forecast if
+     * {@code weather.circuit-breaker.mock-fallback} is set. Neither is cached, so the
+     * upstream is tried again as soon as the circuit breaker lets calls through.
+     */
+    private Optional<WeatherData> fallback(City city) {
+        var lastFetched = forecastCache.peek(city).map(CachedForecast::data);
+        if (lastFetched.isPresent()) {
+            LOG.debugf("Serving last known forecast for %s", city.name());
+            requestLog.fallback();
+            return lastFetched;
+        }
+        if (mockFallback) {
+            LOG.debugf("Serving mock forecast for %s", city.name());
+            requestLog.fallback();
+            return Optional.of(mockWeatherService.generateMockWeatherData(city));
+        }
+        return Optional.empty();
+    }
+
+    private void refreshInBackground(City city, CachedForecast stale) {
+        if (inFlight.containsKey(city)) {
+            return; // A refresh is already running, it will update the cache
+        }
+        if (!forecastCache.contains(city, stale)) {
+            return; // A refresh finished after the stale entry was read
+        }
+        LOG.debugf("Serving stale forecast for %s, refreshing in background", city.name());
+        fetchCoalesced(city);
+    }
+
+    /**
+     * Single-flight fetch: the first caller for a city starts the upstream call,
+     * concurrent callers for the same city share its pending result.
+     */
+    private CompletableFuture<Optional<WeatherData>> fetchCoalesced(City city) {
+        var pending = new CompletableFuture<Optional<WeatherData>>();
+        var existing = inFlight.putIfAbsent(city, pending);
+        if (existing != null) {
+            LOG.debugf("Joining in-flight fetch for city %s", city.name());
+            return existing;
+        }
+        fetchWeatherData(city).whenComplete((result, failure) -> {
+            // Populate the cache before releasing the slot so late arrivals hit the cache
+            if (result != null) {
+                result.ifPresent(weatherData -> forecastCache.put(city, weatherData));
+            }
+            inFlight.remove(city, pending);
+            if (failure != null) {
+                pending.completeExceptionally(failure);
+            } else {
+                pending.complete(result);
+            }
+        });
+        return pending;
+    }
+
+    private CompletableFuture<Optional<WeatherData>> fetchWeatherData(City city) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debugf("Calling OpenMeteo API for %s at coordinates: lat=%f, lon=%f",
+                    city.name(), city.latitude(), city.longitude());
+        }
+        requestLog.upstreamFetch();
+
+        return requestForecast(city)
+                .thenApply(response -> {
+                    LOG.debugf("Received weather data for %s from OpenMeteo API", city.name());
+                    var weatherData = convertToWeatherData(city, response);
+                    return Optional.of(weatherData);
+                })
+                .exceptionally(e -> {
+                    var cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof UpstreamUnavailableException) {
+                        LOG.debugf("Skipped fetching weather data for city %s: %s", city.name(), cause.getMessage());
+                        requestLog.upstreamSkipped();
+                    } else if (batchingEnabled) {
+                        // The batcher has logged the failure once for the whole batch
+                        requestLog.upstreamFailure();
+                        LOG.debugf("Batched fetch for city %s failed: %s", city.name(), cause);
+                    } else {
+                        // No stack trace per call; the circuit breaker logs one when failures open it
+                        requestLog.upstreamFailure();
+                        LOG.warnf("Error fetching weather data for city %s: %s", city.name(), cause);
+                    }
                     return Optional.empty();
                 });
     }
 
-    private Optional<WeatherData> fetchWeatherData(City city) {
-        LOG.infof("Found city: %s at coordinates (%f, %f)", 
-                city.name(), city.latitude(), city.longitude());
-        
-        try {
-            LOG.infof("Calling OpenMeteo API for coordinates: lat=%f, lon=%f", 
-                    city.latitude(), city.longitude());
-            
-            var response = openMeteoClient.getWeatherData(
+    private CompletableFuture<WeatherResponse> requestForecast(City city) {
+        if (batchingEnabled) {
+            return forecastBatcher.fetch(city);
+        }
+        return circuitBreaker.call(() -> hedgingPolicy.call(() -> rateLimiter.call(1, () -> executionStrategy.upstream(
+            () -> openMeteoClient.getWeatherDataAsync(
                 city.latitude(),
                 city.longitude(),
-                "temperature_2m,weather_code",
-                "auto"
-            );
-            
-            LOG.infof("Successfully received weather data from OpenMeteo API");
-            return Optional.of(convertToWeatherData(city, response));
-        } catch (Exception e) {
-            LOG.errorf(e, "Error fetching weather data for city %s", city.name());
-            return Optional.empty();
-        }
+                OpenMeteoClient.HOURLY_VARIABLES,
+                OpenMeteoClient.TIMEZONE_AUTO,
+                forecastHours
+            ),
+            () -> openMeteoClient.getWeatherData(
+                city.latitude(),
+                city.longitude(),
+                OpenMeteoClient.HOURLY_VARIABLES,
+                OpenMeteoClient.TIMEZONE_AUTO,
+                forecastHours
+            )
+        )))).subscribeAsCompletionStage();
     }
 
     /**
-     * Modern conversion method using enhanced Stream API and functional programming.
-     * Demonstrates pattern matching and modern collection processing.
+     * The hourly block is already columnar after deserialization, so building the
+     * result is a matter of attaching it to the city.
      */
     private WeatherData convertToWeatherData(City city, WeatherResponse response) {
-        var hourlyWeatherList = Optional.ofNullable(response.getHourly())
-                .map(this::convertHourlyData)
-                .orElse(List.of());
+        var hourlySeries = Optional.ofNullable(response.getHourly())
+                .map(WeatherResponse.HourlyData::getSeries)
+                .orElse(HourlySeries.empty());
         
         return new WeatherData(
             city.name(),
             city.latitude(),
             city.longitude(),
-            hourlyWeatherList
+            hourlySeries
         );
     }
-    
-    /**
-     * Enhanced method using modern Stream API with zip operation simulation.
-     * Demonstrates functional programming patterns available in Java 21.
-     */
-    private List<WeatherData.HourlyWeather> convertHourlyData(WeatherResponse.HourlyData hourly) {
-        var times = Optional.ofNullable(hourly.getTime()).orElse(List.of());
-        var temperatures = Optional.ofNullable(hourly.getTemperature2m()).orElse(List.of());
-        var weatherCodes = Optional.ofNullable(hourly.getWeatherCode()).orElse(List.of());
-        
-        // Modern approach using IntStream and minimum size calculation
-        int minSize = List.of(times.size(), temperatures.size(), weatherCodes.size())
-                .stream()
-                .mapToInt(Integer::intValue)
-                .min()
-                .orElse(0);
-        
-        return IntStream.range(0, minSize)
-                .mapToObj(i -> new WeatherData.HourlyWeather(
-                    times.get(i),
-                    temperatures.get(i),
-                    weatherCodes.get(i)
-                ))
-                .toList(); // Modern toList() method (Java 16+)
-    }
 }
\ No newline at end of file
@@ -1,9 +1,16 @@
 package com.example.weather.service;
 
+import com.example.weather.model.CityWeatherResult;
 import com.example.weather.model.WeatherData;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @ApplicationScoped
@@ -15,9 +22,18 @@ public class WeatherServiceSelector {
     @Inject
     MockWeatherService mockWeatherService;
 
+    @Inject
+    CityService cityService;
+
+    @Inject
+    ForecastCache forecastCache;
+
     @ConfigProperty(name = "weather.service.use-mock", defaultValue = "true")
     boolean useMockService;
 
+    @ConfigProperty(name = "weather.stream.concurrency", defaultValue = "16")
+    int streamConcurrency;
+
     public Optional<WeatherData> getWeatherByCityCode(String cityCode) {
         if (useMockService) {
             return mockWeatherService.getWeatherByCityCode(cityCode);
@@ -25,4 +41,76 @@ public class WeatherServiceSelector {
             return realWeatherService.getWeatherByCityCode(cityCode);
         }
     }
+
+    public Uni<Optional<WeatherData>> getWeatherByCityCodeAsync(String cityCode) {
+        if (useMockService) {
+            return mockWeatherService.getWeatherByCityCodeAsync(cityCode);
+        } else {
+            return realWeatherService.getWeatherByCityCodeAsync(cityCode);
+        }
+    }
+
+    /**
+     * How long clients may reuse the given forecast: the time until its cache entry turns
+     * stale. Mock forecasts are reusable only when precomputed, until the hour turns.
+     */
+    public Duration freshFor(String cityCode, WeatherData data) {
+        if (useMockService) {
+            return mockWeatherService.freshFor();
+        }
+        return cityService.findCityByCode(cityCode)
+                .flatMap(city -> forecastCache.timeToStale(city, data))
+                .orElse(Duration.ZERO);
+    }
+
+    /**
+     * Looks up all cities concurrently. Each lookup goes through the regular per-city
+     * path, so cached, in-flight and batched upstream fetches are shared as usual.
+     * A failing city is reported in its own result and does not fail the others.
+     *
+     * @param cityCodes distinct city codes; the result map keeps their order
+     */
+    public Uni<Map<String, CityWeatherResult>> getWeatherByCityCodesAsync(List<String> cityCodes) {
+        if (cityCodes.isEmpty()) {
+            return Uni.createFrom().item(Map.of());
+        }
+        var lookups = cityCodes.stream()
+                .map(this::lookupForBulk)
+                .toList();
+
+        return Uni.join().all(lookups).andFailFast()
+                .map(results -> {
+                    var byCode = new LinkedHashMap<String, CityWeatherResult>();
+                    for (int i = 0; i < cityCodes.size(); i++) {
+                        byCode.put(cityCodes.get(i), results.get(i));
+                    }
+                    return byCode;
+                });
+    }
+
+    private Uni<CityWeatherResult> lookupForBulk(String cityCode) {
+        return getWeatherByCityCodeAsync(cityCode)
+                .map(weatherData -> weatherData
+                        .map(CityWeatherResult::success)
+                        .orElseGet(() -> CityWeatherResult.failure(cityService.findCityByCode(cityCode).isPresent()
+                                ? "Weather data unavailable for city: " + cityCode
+                                : "City not found: " + cityCode)))
+                .onFailure().recoverWithItem(failure -> CityWeatherResult.failure(
+                        "Error fetching weather data for city %s: %s".formatted(cityCode, failure.getMessage())));
+    }
+
+    /**
+     * Emits the weather of every known city in completion order, so the first item is
+     * available as soon as the fastest lookup finishes. At most {@code weather.stream.concurrency}
+     * lookups run at once and new ones only start as the subscriber requests more items.
+     * Cities whose lookup fails are left out of the stream.
+     */
+    public Multi<WeatherData> streamAllCities() {
+        return Multi.createFrom().iterable(cityService.getAllCities().keySet())
+                .onItem().transformToUni(cityCode -> getWeatherByCityCodeAsync(cityCode)
+                        .onFailure().recoverWithItem(Optional.empty()))
+                .merge(streamConcurrency)
+                .filter(Optional::isPresent)
+                .map(Optional::get);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,175 @@
+package com.example.weather.loadtest;
+
+import com.example.weather.service.CityService;
+import com.example.weather.service.HedgingPolicy;
+import com.example.weather.service.UpstreamCircuitBreaker;
+import com.example.weather.service.UpstreamRateLimiter;
+import io.quarkus.test.common.WithTestResource;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives {@code GET /weather/{cityCode}} of the running application at a fixed request rate
+ * while the Open-Meteo client talks to a local {@link FakeOpenMeteoServer}, and reports
+ * throughput and latency percentiles. Run with:
+ * <pre>mvn test -Dtest=EndToEndLoadTest -Dweather.loadtest=true</pre>
+ * <p>
+ * The load is open-loop: requests are sent on schedule whether or not earlier ones have
+ * completed. Latency is measured from the scheduled send time, so a stalled server shows
+ * up as queueing delay instead of slowing the client down. Options:
+ * <ul>
+ *   <li>{@code weather.loadtest.rps}: target requests per second (default 500)</li>
+ *   <li>{@code weather.loadtest.duration-s}: measured run length (default 30)</li>
+ *   <li>{@code weather.loadtest.warmup-s}: unmeasured run before it (default 5)</li>
+ *   <li>{@code weather.loadtest.outage-s}: seconds in the middle of the measured run during
+ *       which every upstream request fails (default 0)</li>
+ * </ul>
+ * See {@link FakeOpenMeteoResource} for the upstream options. Application settings are
+ * ordinary system properties; {@code -Dweather.cache.soft-ttl=0s -Dweather.cache.hard-ttl=0s
+ * -Dweather.refresh.enabled=false}, for example, makes every request go upstream.
+ */
+@QuarkusTest
+@WithTestResource(FakeOpenMeteoResource.class)
+@EnabledIfSystemProperty(named = "weather.loadtest", matches = "true")
+public class EndToEndLoadTest {
+
+    private static final int RATE = Integer.getInteger("weather.loadtest.rps", 500);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("weather.loadtest.duration-s", 30));
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("weather.loadtest.warmup-s", 5));
+    private static final Duration OUTAGE = Duration.ofSeconds(Long.getLong("weather.loadtest.outage-s", 0));
+
+    @TestHTTPResource("/weather/")
+    URI weatherUri;
+
+    @Inject
+    CityService cityService;
+
+    @Inject
+    UpstreamCircuitBreaker circuitBreaker;
+
+    @Inject
+    HedgingPolicy hedgingPolicy;
+
+    @Inject
+    UpstreamRateLimiter rateLimiter;
+
+    FakeOpenMeteoServer upstream;
+
+    @Test
+    public void driveWeatherEndpoint() {
+        var uris = cityService.getAllCities().keySet().stream()
+                .sorted()
+                .map(code -> weatherUri.resolve(URLEncoder.encode(code, StandardCharsets.UTF_8)))
+                .toList();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor();
+             var client = HttpClient.newBuilder().executor(executor).build()) {
+            run(client, uris, WARMUP);
+
+            var upstreamRequests = upstream.requests();
+            var upstreamLocations = upstream.locations();
+            var upstreamErrors = upstream.errors();
+            var result = withOutage(() -> run(client, uris, DURATION));
+
+            System.out.printf("Target %d req/s for %s against %s%n", RATE, DURATION, upstream.url());
+            System.out.printf("  throughput       %8.0f req/s (%d requests in %.1f s)%n",
+                    result.completed() / result.seconds(), result.completed(), result.seconds());
+            for (var percentile : new double[] {50, 90, 99, 99.9}) {
+                System.out.printf("  p%-15s %8.2f ms%n", percentile, millis(result.latency().getValueAtPercentile(percentile)));
+            }
+            System.out.printf("  %-16s %8.2f ms%n", "max", millis(result.latency().getMaxValue()));
+            System.out.printf("  responses        %s%n", result.statuses());
+            System.out.printf("  upstream         %d requests for %d locations, %d injected errors%n",
+                    upstream.requests() - upstreamRequests,
+                    upstream.locations() - upstreamLocations,
+                    upstream.errors() - upstreamErrors);
+            System.out.printf("  hedging          %s%n", hedgingPolicy.stats());
+            System.out.printf("  rate limit       %s%n", rateLimiter.stats());
+            if (!OUTAGE.isZero()) {
+                System.out.printf("  outage           %s, circuit breaker %s%n", OUTAGE, circuitBreaker.stats());
+            }
+
+            assertFalse(result.statuses().containsKey("failed"), "Requests failed: " + result.statuses());
+        }
+    }
+
+    /**
+     * Runs the load while the upstream fails every request for {@code OUTAGE}, centered in the run.
+     */
+    private RunResult withOutage(Supplier<RunResult> load) {
+        if (OUTAGE.isZero()) {
+            return load.get();
+        }
+        var start = DURATION.minus(OUTAGE).dividedBy(2);
+        try (var scheduler = Executors.newSingleThreadScheduledExecutor()) {
+            scheduler.schedule(() -> upstream.setErrorRate(1), start.toMillis(), TimeUnit.MILLISECONDS);
+            scheduler.schedule(() -> upstream.setErrorRate(0), start.plus(OUTAGE).toMillis(), TimeUnit.MILLISECONDS);
+            return load.get();
+        }
+    }
+
+    /**
+     * Sends {@code RATE} requests per second for the given time, cycling through the cities,
+     * and waits for all of them to complete.
+     */
+    private static RunResult run(HttpClient client, List<URI> uris, Duration duration) {
+        var latency = new ConcurrentHistogram(TimeUnit.MINUTES.toNanos(1), 3);
+        var statuses = new ConcurrentHashMap<String, LongAdder>();
+        var total = duration.toSeconds() * RATE;
+        var interval = TimeUnit.SECONDS.toNanos(1) / RATE;
+        var responses = new ArrayList<CompletableFuture<?>>();
+
+        var started = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            var scheduled = started + i * interval;
+            for (var wait = scheduled - System.nanoTime(); wait > 0; wait = scheduled - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+            var request = HttpRequest.newBuilder(uris.get((int) (i % uris.size()))).GET().build();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        latency.recordValue(Math.min(System.nanoTime() - scheduled, latency.getHighestTrackableValue()));
+                        var status = error == null ? Integer.toString(response.statusCode()) : "failed";
+                        statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+                    }));
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new))
+                .exceptionally(e -> null)
+                .join();
+
+        var counts = new TreeMap<String, Long>();
+        statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        return new RunResult(total, (System.nanoTime() - started) / 1e9, latency, counts);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private record RunResult(long completed, double seconds, Histogram latency, Map<String, Long> statuses) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.weather.loadtest;
+
+import io.quarkus.test.common.QuarkusTestResourceLifecycleManager;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Starts a {@link FakeOpenMeteoServer} for a Quarkus test and points the Open-Meteo REST client at it.
+ * The real (non-mock) weather service is enabled. The stand-in is shaped with system properties:
+ * <ul>
+ *   <li>{@code weather.loadtest.upstream-latency-ms}: base response delay (default 50)</li>
+ *   <li>{@code weather.loadtest.upstream-jitter-ms}: extra random delay of up to this many ms (default 20)</li>
+ *   <li>{@code weather.loadtest.upstream-hours}: forecast length, which sets the payload size (default 168)</li>
+ *   <li>{@code weather.loadtest.upstream-error-rate}: share of requests answered with HTTP 500 (default 0)</li>
+ *   <li>{@code weather.loadtest.upstream-straggler-rate}: share of requests delayed further (default 0)</li>
+ *   <li>{@code weather.loadtest.upstream-straggler-ms}: extra delay of those requests (default 2000)</li>
+ * </ul>
+ * Tests receive the running server in a field of type {@link FakeOpenMeteoServer}.
+ */
+public class FakeOpenMeteoResource implements QuarkusTestResourceLifecycleManager {
+
+    private FakeOpenMeteoServer server;
+
+    @Override
+    public Map<String, String> start() {
+        try {
+            server = new FakeOpenMeteoServer(
+                    Duration.ofMillis(Long.getLong("weather.loadtest.upstream-latency-ms", 50)),
+                    Duration.ofMillis(Long.getLong("weather.loadtest.upstream-jitter-ms", 20)),
+                    Integer.getInteger("weather.loadtest.upstream-hours", 168),
+                    Double.parseDouble(System.getProperty("weather.loadtest.upstream-error-rate", "0")));
+            server.setStragglers(
+                    Double.parseDouble(System.getProperty("weather.loadtest.upstream-straggler-rate", "0")),
+                    Duration.ofMillis(Long.getLong("weather.loadtest.upstream-straggler-ms", 2000)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the fake Open-Meteo server", e);
+        }
+        return Map.of(
+                "weather.service.use-mock", "false",
+                "quarkus.rest-client.openmeteo-api.url", server.url());
+    }
+
+    @Override
+    public void inject(TestInjector testInjector) {
+        testInjector.injectIntoFields(server, new TestInjector.MatchesType(FakeOpenMeteoServer.class));
+    }
+
+    @Override
+    public void stop() {
+        if (server != null) {
+            server.close();
+        }
+    }
+}
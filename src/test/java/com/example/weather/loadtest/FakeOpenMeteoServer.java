@@ -0,0 +1,200 @@
+package com.example.weather.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Local stand-in for the Open-Meteo forecast endpoint.
+ * <p>
+ * Answers the single- and multi-location requests sent by
+ * {@link com.example.weather.service.OpenMeteoClient} with forecasts of {@code hours} hours,
+ * or of {@code forecast_hours} hours when the request asks for fewer,
+ * after a delay of {@code latency} plus a uniformly random {@code jitter}. A share of
+ * {@code errorRate} requests fails with HTTP 500, and a share of requests set with
+ * {@link #setStragglers} takes an extra delay. Each request is handled on its own
+ * virtual thread, so slow responses do not limit how many can be in flight.
+ */
+public class FakeOpenMeteoServer implements AutoCloseable {
+
+    private static final int[] WEATHER_CODES = {0, 1, 2, 3, 45, 51, 61, 63, 71, 80, 95};
+
+    private final Duration latency;
+    private final Duration jitter;
+    private volatile double errorRate;
+    private volatile double stragglerRate;
+    private volatile Duration stragglerDelay = Duration.ZERO;
+    private final int hours;
+    private final Map<Integer, String> hourlyJson = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder locations = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpServer server;
+
+    public FakeOpenMeteoServer(Duration latency, Duration jitter, int hours, double errorRate) throws IOException {
+        this.latency = latency;
+        this.jitter = jitter;
+        this.errorRate = errorRate;
+        this.hours = hours;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/v1/forecast", this::handle);
+        server.start();
+    }
+
+    public String url() {
+        return "http://localhost:%d/v1/forecast".formatted(server.getAddress().getPort());
+    }
+
+    /**
+     * Number of HTTP requests received, including failed ones.
+     */
+    public long requests() {
+        return requests.sum();
+    }
+
+    /**
+     * Number of locations requested; above {@link #requests()} when requests are batched.
+     */
+    public long locations() {
+        return locations.sum();
+    }
+
+    public long errors() {
+        return errors.sum();
+    }
+
+    /**
+     * Makes the given share of requests answer {@code delay} later than the others.
+     */
+    public void setStragglers(double rate, Duration delay) {
+        this.stragglerDelay = delay;
+        this.stragglerRate = rate;
+    }
+
+    /**
+     * Changes the share of failing requests, e.g. to 1 for a full outage.
+     */
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.increment();
+            var query = parseQuery(exchange.getRequestURI());
+            var latitudes = query.getOrDefault("latitude", "").split(",");
+            var longitudes = query.getOrDefault("longitude", "").split(",");
+            var requestedHours = Integer.parseInt(query.getOrDefault("forecast_hours", "0"));
+            var forecastHours = requestedHours > 0 ? Math.min(hours, requestedHours) : hours;
+            var hourly = hourlyJson.computeIfAbsent(forecastHours, FakeOpenMeteoServer::hourlyJson);
+            locations.add(latitudes.length);
+
+            sleep();
+            if (latitudes.length != longitudes.length || latitudes[0].isEmpty()) {
+                respond(exchange, 400, "{\"error\":true,\"reason\":\"latitude and longitude must have the same length\"}");
+            } else if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                errors.increment();
+                respond(exchange, 500, "{\"error\":true,\"reason\":\"Injected failure\"}");
+            } else if (latitudes.length == 1) {
+                respond(exchange, 200, forecast(latitudes[0], longitudes[0], hourly));
+            } else {
+                // Open-Meteo only wraps forecasts in an array for more than one location
+                respond(exchange, 200, IntStream.range(0, latitudes.length)
+                        .mapToObj(i -> forecast(latitudes[i], longitudes[i], hourly))
+                        .collect(Collectors.joining(",", "[", "]")));
+            }
+        }
+    }
+
+    private void sleep() {
+        var delay = latency.toNanos();
+        if (!jitter.isZero()) {
+            delay += ThreadLocalRandom.current().nextLong(jitter.toNanos() + 1);
+        }
+        if (stragglerRate > 0 && ThreadLocalRandom.current().nextDouble() < stragglerRate) {
+            delay += stragglerDelay.toNanos();
+        }
+        if (delay > 0) {
+            try {
+                Thread.sleep(Duration.ofNanos(delay));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static String forecast(String latitude, String longitude, String hourlyJson) {
+        return "{\"latitude\":%s,\"longitude\":%s,\"generationtime_ms\":0.05,\"utc_offset_seconds\":0,\"timezone\":\"GMT\",%s}"
+                .formatted(latitude, longitude, hourlyJson);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        var bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private static Map<String, String> parseQuery(URI uri) {
+        var query = uri.getRawQuery();
+        if (query == null) {
+            return Map.of();
+        }
+        var parameters = new HashMap<String, String>();
+        for (var pair : query.split("&")) {
+            var separator = pair.indexOf('=');
+            if (separator > 0) {
+                parameters.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    /**
+     * The hourly part is the same for every location, so it is rendered once per length.
+     */
+    private static String hourlyJson(int hours) {
+        var start = LocalDate.now().atStartOfDay();
+        var formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+        var times = IntStream.range(0, hours)
+                .mapToObj(hour -> "\"" + start.plusHours(hour).format(formatter) + "\"")
+                .collect(Collectors.joining(","));
+        var temperatures = IntStream.range(0, hours)
+                .mapToObj(hour -> Double.toString(Math.round(10 * (12 + 8 * Math.sin(hour * Math.PI / 12))) / 10.0))
+                .collect(Collectors.joining(","));
+        var weatherCodes = Arrays.stream(WEATHER_CODES)
+                .mapToObj(Integer::toString)
+                .toArray(String[]::new);
+        var codes = IntStream.range(0, hours)
+                .mapToObj(hour -> weatherCodes[hour % weatherCodes.length])
+                .collect(Collectors.joining(","));
+        return "\"hourly_units\":{\"time\":\"iso8601\",\"temperature_2m\":\"°C\",\"weather_code\":\"wmo code\"},"
+                + "\"hourly\":{\"time\":[%s],\"temperature_2m\":[%s],\"weather_code\":[%s]}".formatted(times, temperatures, codes);
+    }
+}
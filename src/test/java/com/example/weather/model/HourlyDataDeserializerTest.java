@@ -0,0 +1,99 @@
+package com.example.weather.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDateTime;
+import java.util.StringJoiner;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HourlyDataDeserializerTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void testParsesOpenMeteoResponse() throws Exception {
+        var json = """
+            {
+              "latitude": 60.16,
+              "longitude": 24.94,
+              "generationtime_ms": 0.05,
+              "utc_offset_seconds": 10800,
+              "timezone": "Europe/Helsinki",
+              "hourly_units": {"time": "iso8601", "temperature_2m": "°C", "weather_code": "wmo code"},
+              "hourly": {
+                "time": ["2024-02-28T23:00", "2024-02-29T00:00", "2024-03-01T00:00"],
+                "temperature_2m": [-1.5, -2.0, 0.25],
+                "weather_code": [3, 71, 0]
+              }
+            }
+            """;
+
+        var response = mapper.readValue(json, WeatherResponse.class);
+        var series = response.getHourly().getSeries();
+
+        assertEquals("Europe/Helsinki", response.getTimezone());
+        assertEquals(3, series.size());
+        assertEquals(new WeatherData.HourlyWeather("2024-02-28T23:00", -1.5, 3), series.get(0));
+        assertEquals(new WeatherData.HourlyWeather("2024-02-29T00:00", -2.0, 71), series.get(1));
+        assertEquals(new WeatherData.HourlyWeather("2024-03-01T00:00", 0.25, 0), series.get(2));
+    }
+
+    @Test
+    public void testColumnsInAnyOrderAndUnknownVariablesSkipped() throws Exception {
+        var json = """
+            {"weather_code": [1, 2], "relative_humidity_2m": [80, 81],
+             "temperature_2m": [10.0, 11.0], "extra": {"nested": [1]}, "time": ["2025-09-05T12:00", "2025-09-05T13:00"]}
+            """;
+
+        var series = mapper.readValue(json, WeatherResponse.HourlyData.class).getSeries();
+
+        assertEquals(2, series.size());
+        assertEquals(11.0, series.temperature(1));
+        assertEquals(2, series.weatherCode(1));
+    }
+
+    @Test
+    public void testSeriesEndsAtShortestColumnOrFirstMissingValue() throws Exception {
+        var json = """
+            {"time": ["2025-09-05T12:00", "2025-09-05T13:00", "2025-09-05T14:00", "2025-09-05T15:00"],
+             "temperature_2m": [10.0, 11.0, null],
+             "weather_code": [1, 2, 3, 4]}
+            """;
+
+        var series = mapper.readValue(json, WeatherResponse.HourlyData.class).getSeries();
+
+        assertEquals(2, series.size());
+    }
+
+    @Test
+    public void testParsesForecastLongerThanInitialColumns() throws Exception {
+        int hours = 384;
+        var start = LocalDateTime.parse("2025-09-05T00:00");
+        var times = new StringJoiner(",");
+        var temperatures = new StringJoiner(",");
+        var codes = new StringJoiner(",");
+        for (int i = 0; i < hours; i++) {
+            times.add("\"" + start.plusHours(i) + "\"");
+            temperatures.add(String.valueOf(i / 10.0));
+            codes.add(String.valueOf(i % 100));
+        }
+        var json = "{\"time\": [" + times + "], \"temperature_2m\": [" + temperatures + "], \"weather_code\": [" + codes + "]}";
+
+        var series = mapper.readValue(json, WeatherResponse.HourlyData.class).getSeries();
+
+        assertEquals(hours, series.size());
+        assertEquals(new WeatherData.HourlyWeather(start.plusHours(hours - 1).toString(), 38.3, 83), series.get(hours - 1));
+    }
+
+    @Test
+    public void testTimeParsingMatchesJavaTime() {
+        for (var time : new String[] {"1970-01-01T00:00", "2000-02-29T12:34", "2025-12-31T23:59", "2100-03-01T00:00"}) {
+            var chars = time.toCharArray();
+            assertEquals(HourlySeries.toEpochSecond(LocalDateTime.parse(time)),
+                    HourlySeries.parseTime(chars, 0, chars.length), time);
+        }
+        var withSeconds = "2025-09-05T12:00:30".toCharArray();
+        assertEquals(HourlySeries.toEpochSecond(LocalDateTime.parse("2025-09-05T12:00:30")),
+                HourlySeries.parseTime(withSeconds, 0, withSeconds.length));
+    }
+}
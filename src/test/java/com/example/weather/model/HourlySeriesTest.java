@@ -0,0 +1,92 @@
+package com.example.weather.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDateTime;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HourlySeriesTest {
+
+    private static final List<WeatherData.HourlyWeather> RECORDS = List.of(
+        new WeatherData.HourlyWeather("2025-09-05T12:00", 20.0, 0),
+        new WeatherData.HourlyWeather("2025-09-05T13:00", 18.5, 45),
+        new WeatherData.HourlyWeather("2025-12-31T23:30", -22.1, 99)
+    );
+
+    private static HourlySeries columnar() {
+        var builder = HourlySeries.builder(1); // Deliberately small to exercise growth
+        for (var hour : RECORDS) {
+            builder.add(HourlySeries.toEpochSecond(LocalDateTime.parse(hour.time())), hour.temperature(), hour.weatherCode());
+        }
+        return builder.build();
+    }
+
+    @Test
+    public void testPerHourViewsMatchRecords() {
+        var series = columnar();
+
+        assertEquals(RECORDS.size(), series.size());
+        assertEquals(RECORDS, series);
+        assertEquals("2025-12-31T23:30", series.getLast().time());
+        assertEquals(45, series.weatherCode(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> series.get(3));
+    }
+
+    @Test
+    public void testSeriesIsImmutableAndNotCopiedByWeatherData() {
+        var series = columnar();
+        var weatherData = new WeatherData("Helsinki", 60.1699, 24.9384, series);
+
+        assertSame(series, weatherData.hourlyWeather());
+        assertThrows(UnsupportedOperationException.class, () -> weatherData.hourlyWeather().add(RECORDS.getFirst()));
+        assertEquals(new WeatherData("Helsinki", 60.1699, 24.9384, RECORDS).getAverageTemperature(),
+                weatherData.getAverageTemperature());
+    }
+
+    @Test
+    public void testFirstHoursShareColumns() throws Exception {
+        var weatherData = new WeatherData("Helsinki", 60.1699, 24.9384, columnar());
+        var limited = weatherData.firstHours(2);
+
+        assertInstanceOf(HourlySeries.class, limited.hourlyWeather());
+        assertEquals(RECORDS.subList(0, 2), limited.hourlyWeather());
+        assertSame(weatherData, weatherData.firstHours(24));
+
+        var mapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        assertEquals(mapper.writeValueAsString(new WeatherData("Helsinki", 60.1699, 24.9384, RECORDS).firstHours(2)),
+                mapper.writeValueAsString(limited));
+    }
+
+    @Test
+    public void testInvalidWeatherCodeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> HourlySeries.builder(1).add(0L, 10.0, 100));
+    }
+
+    @Test
+    public void testSerializesToSameJsonAsRecordList() throws Exception {
+        var mapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS); // Quarkus default
+
+        assertSameJson(mapper);
+    }
+
+    @Test
+    public void testSerializesToSameJsonWithDateTimestamps() throws Exception {
+        var mapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        assertSameJson(mapper);
+    }
+
+    private static void assertSameJson(ObjectMapper mapper) throws Exception {
+        var expected = mapper.writeValueAsString(new WeatherData("Helsinki", 60.1699, 24.9384, RECORDS));
+        var actual = mapper.writeValueAsString(new WeatherData("Helsinki", 60.1699, 24.9384, columnar()));
+
+        assertEquals(expected, actual);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.weather.resource;
+
+import com.example.weather.loadtest.FakeOpenMeteoResource;
+import io.quarkus.test.common.WithTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+
+/**
+ * Starts the application with the real weather service against a local Open-Meteo stand-in,
+ * so the startup path taken in production (warm-up, background refresher) runs as well.
+ */
+@QuarkusTest
+@WithTestResource(FakeOpenMeteoResource.class)
+public class UpstreamWeatherResourceTest {
+
+    @Test
+    public void testForecastIsServedFromUpstream() {
+        given()
+          .when().get("/weather/helsinki")
+          .then()
+             .statusCode(200)
+             .body("cityName", is("Helsinki"))
+             .body("hourlyWeather.size()", is(48));
+    }
+
+    @Test
+    public void testRefresherStartedForAllCities() {
+        given()
+          .when().get("/weather/refresh/stats")
+          .then()
+             .statusCode(200)
+             .body("cities", is(8));
+    }
+}
@@ -3,9 +3,17 @@ package com.example.weather.resource;
 import io.quarkus.test.junit.QuarkusTest;
 import org.junit.jupiter.api.Test;
 
+import io.restassured.RestAssured;
+import io.restassured.config.DecoderConfig;
+import io.restassured.http.ContentType;
+
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @QuarkusTest
 public class WeatherResourceTest {
@@ -36,6 +44,124 @@ public class WeatherResourceTest {
              .body("hourlyWeather.size()", is(24)); // 24 hours of data
     }
 
+    @Test
+    public void testWeatherIsGzippedWhenAccepted() {
+        given()
+          .header("Accept-Encoding", "gzip")
+          .when().get("/weather/oulu")
+          .then()
+             .statusCode(200)
+             .header("Content-Encoding", "gzip")
+             .header("Vary", "Accept-Encoding")
+             .body("cityName", is("Oulu"));
+
+        given()
+          .config(RestAssured.config().decoderConfig(DecoderConfig.decoderConfig().noContentDecoders()))
+          .when().get("/weather/oulu")
+          .then()
+             .statusCode(200)
+             .header("Content-Encoding", nullValue())
+             .contentType(ContentType.JSON)
+             .body("cityName", is("Oulu"));
+    }
+
+    @Test
+    public void testWeatherCarriesValidators() {
+        given()
+          .when().get("/weather/turku")
+          .then()
+             .statusCode(200)
+             .header("ETag", notNullValue())
+             .header("Cache-Control", is("max-age=0")); // mock forecasts are generated per request
+
+        given()
+          .header("If-None-Match", "*")
+          .when().get("/weather/turku")
+          .then()
+             .statusCode(304)
+             .header("ETag", notNullValue());
+    }
+
+    @Test
+    public void testIfNoneMatchComparison() {
+        assertTrue(WeatherResource.matchesAny("\"abc\"", "abc", "abc-gzip"));
+        assertTrue(WeatherResource.matchesAny("\"x\", W/\"abc-gzip\"", "abc", "abc-gzip"));
+        assertFalse(WeatherResource.matchesAny("\"abcd\"", "abc", "abc-gzip"));
+        assertFalse(WeatherResource.matchesAny(null, "abc"));
+    }
+
+    @Test
+    public void testReadyWithoutWarmupForMockService() {
+        given()
+          .when().get("/q/health/ready")
+          .then()
+             .statusCode(200)
+             .body("status", is("UP"));
+
+        given()
+          .when().get("/weather/warmup/stats")
+          .then()
+             .statusCode(200)
+             .body("state", is("SKIPPED"))
+             .body("cities", is(8));
+    }
+
+    @Test
+    public void testCircuitBreakerStatsEndpoint() {
+        given()
+          .when().get("/weather/circuit-breaker/stats")
+          .then()
+             .statusCode(200)
+             .body("state", is("CLOSED"))
+             .body("rejected", is(0));
+    }
+
+    @Test
+    public void testRateLimitStatsEndpoint() {
+        given()
+          .when().get("/weather/rate-limit/stats")
+          .then()
+             .statusCode(200)
+             .body("rejected", is(0))
+             .body("availablePermits", is(50.0f));
+    }
+
+    @Test
+    public void testNearestCitiesEndpoint() {
+        given()
+          .when().get("/weather/near?lat=65.0&lon=25.5&limit=2")
+          .then()
+             .statusCode(200)
+             .body("size()", is(2))
+             .body("[0].code", is("oulu"))
+             .body("[0].name", is("Oulu"))
+             .body("[1].code", is("kuopio"));
+
+        given()
+          .when().get("/weather/near?lat=95&lon=25")
+          .then()
+             .statusCode(400);
+
+        given()
+          .when().get("/weather/near?lat=65&lon=25&limit=0")
+          .then()
+             .statusCode(400);
+    }
+
+    @Test
+    public void testHoursLimitsForecast() {
+        given()
+          .when().get("/weather/helsinki?hours=6")
+          .then()
+             .statusCode(200)
+             .body("hourlyWeather.size()", is(6));
+
+        given()
+          .when().get("/weather/helsinki?hours=0")
+          .then()
+             .statusCode(400);
+    }
+
     @Test
     public void testGetWeatherForInvalidCity() {
         given()
@@ -43,4 +169,65 @@ public class WeatherResourceTest {
           .then()
              .statusCode(404);
     }
+
+    @Test
+    public void testGetWeatherForMultipleCities() {
+        given()
+          .when().get("/weather?cities=helsinki,oulu,nonexistentcity")
+          .then()
+             .statusCode(200)
+             .body("size()", is(3))
+             .body("helsinki.weather.cityName", is("Helsinki"))
+             .body("helsinki.error", nullValue())
+             .body("oulu.weather.hourlyWeather.size()", is(24))
+             .body("nonexistentcity.weather", nullValue())
+             .body("nonexistentcity.error", is("City not found: nonexistentcity"));
+    }
+
+    @Test
+    public void testPostWeatherForMultipleCities() {
+        given()
+          .contentType(ContentType.JSON)
+          .body("[\"turku\", \"tampere\", \"turku\"]")
+          .when().post("/weather")
+          .then()
+             .statusCode(200)
+             .body("size()", is(2))
+             .body("turku.weather.cityName", is("Turku"))
+             .body("tampere.weather.cityName", is("Tampere"));
+    }
+
+    @Test
+    public void testBulkRequestWithoutCities() {
+        given()
+          .when().get("/weather")
+          .then()
+             .statusCode(400);
+    }
+
+    @Test
+    public void testStreamAllCitiesAsNdjson() {
+        var body = given()
+          .accept("application/x-ndjson")
+          .when().get("/weather/stream")
+          .then()
+             .statusCode(200)
+             .extract().asString();
+
+        var lines = body.lines().filter(line -> !line.isBlank()).toList();
+        assertEquals(8, lines.size());
+        lines.forEach(line -> assertEquals('{', line.charAt(0)));
+    }
+
+    @Test
+    public void testStreamAllCitiesAsServerSentEvents() {
+        var body = given()
+          .accept("text/event-stream")
+          .when().get("/weather/stream")
+          .then()
+             .statusCode(200)
+             .extract().asString();
+
+        assertEquals(8, body.lines().filter(line -> line.startsWith("data:")).count());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.example.weather.service;
+
+import com.example.weather.model.City;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CityDatasetTest {
+
+    private static final String ROWS = String.join("\n",
+            "# geonameid\tname\tasciiname\talternatenames\tlatitude\tlongitude\tfeature class",
+            row(4887398, "Chicago", "41.85003", "-87.65005", "P", 2720546),
+            row(4409896, "Springfield", "37.21533", "-93.29824", "P", 169176),
+            row(4250542, "Springfield", "39.80172", "-89.64371", "P", 116565),
+            row(3470127, "Belo Horizonte", "-19.92083", "-43.93778", "P", 2373224),
+            row(2122850, "Öhakhinsk", "59.6335", "150.9876", "P", 0),
+            row(658225, "Helsinki", "60.16952", "24.93545", "P", 558457),
+            row(2977956, "Mont Blanc", "45.83262", "6.86517", "T", 0),
+            row(1, "Nowhere", "91.0", "0.0", "P", 0),
+            row(2, "Broken", "12.x", "0.0", "P", 0),
+            "3\tShort row",
+            row(5128581, "New York City", "40.714272", "-74.005966", "P", 8804190) + "\r");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testLoadsPopulatedPlaces() throws IOException {
+        var dataset = CityDataset.load(write(ROWS));
+
+        assertEquals(7, dataset.size());
+        assertEquals(6, dataset.indexedCodes());
+        assertEquals(new City("Chicago", 41.85003, -87.65005), dataset.find("chicago"));
+        assertEquals(new City("Belo Horizonte", -19.92083, -43.93778), dataset.find("belo horizonte"));
+        assertEquals(new City("Öhakhinsk", 59.6335, 150.9876), dataset.find("öhakhinsk"));
+        // Decimals beyond 10^-5 degrees are dropped
+        assertEquals(new City("New York City", 40.71427, -74.00596), dataset.find("new york city"));
+        assertNull(dataset.find("mont blanc"));
+        assertNull(dataset.find("nowhere"));
+        assertNull(dataset.find("broken"));
+        assertNull(dataset.find("atlantis"));
+    }
+
+    @Test
+    public void testMostPopulousCityOwnsSharedCode() throws IOException {
+        var dataset = CityDataset.load(write(ROWS));
+
+        assertEquals(37.21533, dataset.find("springfield").latitude());
+    }
+
+    @Test
+    public void testBuiltInCitiesWinOverDataset() throws IOException {
+        var cityService = new CityService();
+        cityService.loadDataset(write(ROWS));
+
+        assertEquals(60.1699, cityService.findCityByCode("Helsinki").orElseThrow().latitude());
+        assertEquals("Chicago", cityService.findCityByCode("CHICAGO").orElseThrow().name());
+        assertEquals(8, cityService.getAllCities().size());
+    }
+
+    @Test
+    public void testNearestCitiesAreFoundByCode() throws IOException {
+        var cityService = new CityService();
+        cityService.loadDataset(write(ROWS));
+
+        var nearChicago = cityService.findNearest(41.9, -87.6, 2);
+        assertEquals("chicago", nearChicago.get(0).code());
+        assertEquals(6.93, nearChicago.get(0).distanceKm(), 0.01);
+        // Only the Springfield found by code is a candidate
+        assertEquals("springfield", nearChicago.get(1).code());
+        assertEquals(37.21533, nearChicago.get(1).latitude());
+
+        // The built-in Helsinki shadows the one in the file
+        var nearHelsinki = cityService.findNearest(60.16952, 24.93545, 1).getFirst();
+        assertEquals("helsinki", nearHelsinki.code());
+        assertEquals(60.1699, nearHelsinki.latitude());
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException {
+        var dataset = CityDataset.load(write(""));
+
+        assertEquals(0, dataset.size());
+        assertNull(dataset.find("helsinki"));
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(directory.resolve("cities.txt"), content);
+    }
+
+    private static String row(int id, String name, String latitude, String longitude, String featureClass, long population) {
+        return String.join("\t", String.valueOf(id), name, name, "", latitude, longitude, featureClass, "PPL",
+                "US", "", "", "", "", "", String.valueOf(population), "", "", "America/Chicago", "2024-01-01");
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.weather.service;
+
+import com.example.weather.model.WeatherData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EncodedForecastCacheTest {
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private EncodedForecastCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        cache = new EncodedForecastCache();
+        cache.objectMapper = mapper;
+        cache.maxSize = 2;
+    }
+
+    @Test
+    public void testSameForecastIsEncodedOnce() throws Exception {
+        var data = weatherFor("Helsinki", 12.5);
+
+        var first = cache.encode(data);
+        assertSame(first, cache.encode(data));
+        assertArrayEquals(mapper.writeValueAsBytes(data), first.json());
+    }
+
+    @Test
+    public void testNewForecastReplacesEncoding() throws Exception {
+        var original = cache.encode(weatherFor("Helsinki", 12.5));
+        var refreshed = weatherFor("Helsinki", 14.0);
+
+        var encoded = cache.encode(refreshed);
+        assertNotSame(original, encoded);
+        assertNotEquals(original.etag(), encoded.etag());
+        assertSame(refreshed, encoded.forecast());
+        assertArrayEquals(mapper.writeValueAsBytes(refreshed), encoded.json());
+    }
+
+    @Test
+    public void testEtagDependsOnContentOnly() {
+        var first = cache.encode(weatherFor("Helsinki", 12.5));
+        var second = cache.encode(weatherFor("Helsinki", 12.5));
+
+        assertNotSame(first, second);
+        assertEquals(first.etag(), second.etag());
+        assertNotEquals(first.etag(), first.gzipEtag());
+    }
+
+    @Test
+    public void testHourLimitsAreEncodedSeparately() throws Exception {
+        var data = new WeatherData("Helsinki", 60.0, 25.0, List.of(
+                new WeatherData.HourlyWeather("2025-09-05T12:00", 12.5, 1),
+                new WeatherData.HourlyWeather("2025-09-05T13:00", 13.0, 2)));
+
+        var full = cache.encode(data);
+        var first = cache.encode(data, 1);
+        assertNotSame(full, first);
+        assertSame(full, cache.encode(data, 48));
+        assertSame(first, cache.encode(data, 1));
+        assertArrayEquals(mapper.writeValueAsBytes(data.firstHours(1)), first.json());
+    }
+
+    @Test
+    public void testGzipDecodesToJson() throws Exception {
+        var encoded = cache.encode(weatherFor("Oulu", -3.0));
+
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(encoded.gzip()))) {
+            assertArrayEquals(encoded.json(), in.readAllBytes());
+        }
+        assertSame(encoded.gzip(), encoded.gzip());
+    }
+
+    @Test
+    public void testSizeIsBounded() {
+        cache.encode(weatherFor("Helsinki", 12.5));
+        cache.encode(weatherFor("Oulu", -3.0));
+        var turku = cache.encode(weatherFor("Turku", 10.0));
+
+        assertEquals(2, cache.size());
+        assertSame(turku, cache.encode(turku.forecast()));
+    }
+
+    @Test
+    public void testCitiesSharingANameAreEncodedSeparately() {
+        var illinois = new WeatherData("Springfield", 39.80172, -89.64371,
+                List.of(new WeatherData.HourlyWeather("2025-09-05T12:00", 20.0, 1)));
+        var missouri = new WeatherData("Springfield", 37.21533, -93.29824,
+                List.of(new WeatherData.HourlyWeather("2025-09-05T12:00", 22.0, 1)));
+
+        var first = cache.encode(illinois);
+        cache.encode(missouri);
+        assertSame(first, cache.encode(illinois));
+        assertEquals(2, cache.size());
+    }
+
+    private static WeatherData weatherFor(String cityName, double temperature) {
+        return new WeatherData(cityName, 60.0, 25.0,
+                List.of(new WeatherData.HourlyWeather("2025-09-05T12:00", temperature, 1)));
+    }
+}
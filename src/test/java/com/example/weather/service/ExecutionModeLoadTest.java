@@ -0,0 +1,140 @@
+package com.example.weather.service;
+
+import com.example.weather.model.City;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import static com.example.weather.service.HedgingPolicyTest.noHedging;
+import static com.example.weather.service.UpstreamCircuitBreakerTest.disabledCircuitBreaker;
+import static com.example.weather.service.UpstreamRateLimiterTest.noRateLimit;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the execution modes against a slow stub upstream with many concurrent clients.
+ * Every request uses a distinct city so that neither the cache nor request coalescing
+ * hides the upstream latency. Run with:
+ * <pre>mvn test -Dtest=ExecutionModeLoadTest -Dweather.loadtest=true</pre>
+ */
+@EnabledIfSystemProperty(named = "weather.loadtest", matches = "true")
+public class ExecutionModeLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("weather.loadtest.clients", 2_000);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("weather.loadtest.requests-per-client", 5);
+    private static final int WORKER_THREADS = Integer.getInteger("weather.loadtest.workers", 200);
+    private static final Duration UPSTREAM_LATENCY = Duration.ofMillis(Long.getLong("weather.loadtest.latency-ms", 100));
+
+    private final AtomicInteger nextCity = new AtomicInteger();
+
+    @BeforeAll
+    public static void initializeMutiny() {
+        // Context propagation is set up lazily and is not safe to initialize from many threads at once
+        Uni.createFrom().completionStage(CompletableFuture.completedFuture(0)).await().indefinitely();
+    }
+
+    @Test
+    public void compareExecutionModes() throws Exception {
+        System.out.printf("%d concurrent clients x %d requests, %s upstream latency%n",
+                CLIENTS, REQUESTS_PER_CLIENT, UPSTREAM_LATENCY);
+        System.out.printf("  %-40s %8.0f req/s%n",
+                "blocking API on %d worker threads".formatted(WORKER_THREADS), runBlockingWorkers());
+        for (var mode : ExecutionMode.values()) {
+            System.out.printf("  %-40s %8.0f req/s%n", mode, runClients(mode));
+        }
+    }
+
+    /**
+     * Classic thread-per-request server: a bounded worker pool calls the blocking API.
+     */
+    private double runBlockingWorkers() throws Exception {
+        var service = newService(ExecutionMode.REACTIVE);
+        var started = System.nanoTime();
+        try (var workers = Executors.newFixedThreadPool(WORKER_THREADS)) {
+            var results = IntStream.range(0, CLIENTS * REQUESTS_PER_CLIENT)
+                    .mapToObj(i -> workers.submit(() -> service.getWeatherByCityCode(nextCityCode())))
+                    .toList();
+            for (var result : results) {
+                assertTrue(result.get().isPresent());
+            }
+        }
+        return throughput(started);
+    }
+
+    /**
+     * Each client issues its requests one after another; all clients run concurrently.
+     */
+    private double runClients(ExecutionMode mode) {
+        var service = newService(mode);
+        try {
+            var started = System.nanoTime();
+            var succeeded = Uni.join()
+                    .all(IntStream.range(0, CLIENTS)
+                            .mapToObj(client -> Multi.createFrom().range(0, REQUESTS_PER_CLIENT)
+                                    .onItem().transformToUniAndConcatenate(i -> service.getWeatherByCityCodeAsync(nextCityCode()))
+                                    .filter(Optional::isPresent)
+                                    .collect().with(Collectors.counting()))
+                            .toList())
+                    .andFailFast()
+                    .await().indefinitely()
+                    .stream()
+                    .mapToLong(Long::longValue)
+                    .sum();
+            assertEquals((long) CLIENTS * REQUESTS_PER_CLIENT, succeeded);
+            return throughput(started);
+        } finally {
+            service.executionStrategy.shutdown();
+        }
+    }
+
+    private static double throughput(long startedNanos) {
+        return CLIENTS * REQUESTS_PER_CLIENT / (Duration.ofNanos(System.nanoTime() - startedNanos).toNanos() / 1e9);
+    }
+
+    private String nextCityCode() {
+        return "city-" + nextCity.getAndIncrement();
+    }
+
+    private static WeatherService newService(ExecutionMode mode) {
+        var cache = new ForecastCache();
+        cache.softTtl = Duration.ofHours(1);
+        cache.hardTtl = Duration.ofHours(1);
+        cache.maxSize = CLIENTS * REQUESTS_PER_CLIENT;
+
+        var strategy = new ExecutionStrategy();
+        strategy.mode = mode;
+        strategy.platformThreads = WORKER_THREADS;
+        strategy.init();
+
+        var service = new WeatherService();
+        service.cityService = new SyntheticCityService();
+        service.forecastCache = cache;
+        service.openMeteoClient = new StubOpenMeteoClient(UPSTREAM_LATENCY);
+        service.executionStrategy = strategy;
+        service.circuitBreaker = disabledCircuitBreaker();
+        service.hedgingPolicy = noHedging();
+        service.rateLimiter = noRateLimit();
+        service.requestLog = new RequestLog();
+        service.batchingEnabled = false;
+        return service;
+    }
+
+    /**
+     * Resolves any "city-N" code to a distinct city so every request misses the cache.
+     */
+    private static class SyntheticCityService extends CityService {
+
+        @Override
+        public Optional<City> findCityByCode(String cityCode) {
+            var index = Integer.parseInt(cityCode.substring("city-".length()));
+            return Optional.of(new City("City " + index, (index % 180) - 90, (index / 180 % 360) - 180));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.weather.service;
+
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExecutionStrategyTest {
+
+    static ExecutionStrategy executionFor(ExecutionMode mode) {
+        var strategy = new ExecutionStrategy();
+        strategy.mode = mode;
+        strategy.platformThreads = 4;
+        strategy.init();
+        return strategy;
+    }
+
+    static ExecutionStrategy reactiveExecution() {
+        return executionFor(ExecutionMode.REACTIVE);
+    }
+
+    @Test
+    public void testReactiveModeUsesNonBlockingClient() {
+        var strategy = reactiveExecution();
+
+        var result = strategy.upstream(() -> Uni.createFrom().item("async"), () -> "blocking")
+                .await().indefinitely();
+
+        assertEquals("async", result);
+    }
+
+    @Test
+    public void testVirtualThreadModeRunsBlockingCallOnVirtualThread() {
+        var strategy = executionFor(ExecutionMode.VIRTUAL_THREADS);
+        try {
+            var upstreamVirtual = strategy.upstream(() -> Uni.createFrom().item(false), () -> Thread.currentThread().isVirtual())
+                    .await().indefinitely();
+            var requestVirtual = strategy.dispatch(() -> Uni.createFrom().item(() -> Thread.currentThread().isVirtual()))
+                    .await().indefinitely();
+
+            assertTrue(upstreamVirtual);
+            assertTrue(requestVirtual);
+        } finally {
+            strategy.shutdown();
+        }
+    }
+
+    @Test
+    public void testPlatformThreadModeRunsBlockingCallOnPool() {
+        var strategy = executionFor(ExecutionMode.PLATFORM_THREADS);
+        try {
+            var threadName = strategy.upstream(() -> Uni.createFrom().item("event-loop"), () -> Thread.currentThread().getName())
+                    .await().indefinitely();
+
+            assertTrue(threadName.startsWith("weather-platform-"));
+        } finally {
+            strategy.shutdown();
+        }
+    }
+}
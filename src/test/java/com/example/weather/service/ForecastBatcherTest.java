@@ -0,0 +1,96 @@
+package com.example.weather.service;
+
+import com.example.weather.model.City;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import static com.example.weather.service.ExecutionStrategyTest.reactiveExecution;
+import static com.example.weather.service.HedgingPolicyTest.noHedging;
+import static com.example.weather.service.UpstreamCircuitBreakerTest.disabledCircuitBreaker;
+import static com.example.weather.service.UpstreamRateLimiterTest.noRateLimit;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ForecastBatcherTest {
+
+    private final CityService cityService = new CityService();
+    private StubOpenMeteoClient client;
+    private ForecastBatcher batcher;
+
+    @BeforeEach
+    public void setUp() {
+        client = new StubOpenMeteoClient(Duration.ofMillis(10));
+        batcher = new ForecastBatcher();
+        batcher.window = Duration.ofMillis(50);
+        batcher.maxSize = 50;
+        batcher.openMeteoClient = client;
+        batcher.executionStrategy = reactiveExecution();
+        batcher.circuitBreaker = disabledCircuitBreaker();
+        batcher.hedgingPolicy = noHedging();
+        batcher.rateLimiter = noRateLimit();
+        batcher.init();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        batcher.shutdown();
+    }
+
+    @Test
+    public void testLookupsWithinWindowShareOneRequest() {
+        var cities = cityService.getAllCities().values().stream().toList();
+
+        var futures = cities.stream().map(batcher::fetch).toList();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        assertEquals(1, client.invocations());
+        assertEquals(1, client.batchInvocations());
+        for (int i = 0; i < cities.size(); i++) {
+            assertEquals(cities.get(i).latitude(), futures.get(i).join().getLatitude());
+            assertEquals(cities.get(i).longitude(), futures.get(i).join().getLongitude());
+        }
+    }
+
+    @Test
+    public void testFullBatchIsSentBeforeWindowCloses() {
+        batcher.window = Duration.ofHours(1);
+        batcher.maxSize = 2;
+
+        var helsinki = batcher.fetch(cityService.findCityByCode("helsinki").orElseThrow());
+        var oulu = batcher.fetch(cityService.findCityByCode("oulu").orElseThrow());
+
+        assertEquals(65.0121, oulu.orTimeout(5, TimeUnit.SECONDS).join().getLatitude());
+        assertEquals(60.1699, helsinki.join().getLatitude());
+        assertEquals(1, client.batchInvocations());
+    }
+
+    @Test
+    public void testBatchIsCappedAtRateLimiterPermits() {
+        var limiter = new UpstreamRateLimiter();
+        limiter.enabled = true;
+        limiter.permitsPerSecond = 1_000;
+        limiter.burst = 2;
+        limiter.maxWait = Duration.ZERO;
+        batcher.rateLimiter = limiter;
+        var cities = cityService.getAllCities().values().stream().limit(3).toList();
+
+        var futures = cities.stream().map(batcher::fetch).toList();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).orTimeout(5, TimeUnit.SECONDS).join();
+
+        // Two cities in one batch, the third alone once the window closes
+        assertEquals(1, client.batchInvocations());
+        assertEquals(2, client.invocations());
+        assertEquals(0, limiter.stats().rejected());
+    }
+
+    @Test
+    public void testSingleLookupUsesSingleLocationRequest() {
+        var city = new City("Kuopio", 62.8924, 27.6770);
+
+        assertEquals(62.8924, batcher.fetch(city).join().getLatitude());
+        assertEquals(1, client.invocations());
+        assertEquals(0, client.batchInvocations());
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.weather.service;
+
+import com.example.weather.model.City;
+import com.example.weather.model.WeatherData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ForecastCacheTest {
+
+    private static final City HELSINKI = new City("Helsinki", 60.1699, 24.9384);
+    private static final City TURKU = new City("Turku", 60.4518, 22.2666);
+    private static final City OULU = new City("Oulu", 65.0121, 25.4651);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-09-05T12:00:00Z"));
+    private ForecastCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        cache = new ForecastCache();
+        cache.softTtl = Duration.ofHours(1);
+        cache.hardTtl = Duration.ofHours(3);
+        cache.maxSize = 2;
+        cache.clock = clock;
+    }
+
+    @Test
+    public void testHitAndMissAreCounted() {
+        assertTrue(cache.get(HELSINKI).isEmpty());
+
+        var data = weatherFor(HELSINKI);
+        cache.put(HELSINKI, data);
+        assertSame(data, cache.get(HELSINKI).orElseThrow().data());
+
+        var stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(0, stats.staleHits());
+        assertEquals(1, stats.misses());
+        assertEquals(0, stats.evictions());
+        assertEquals(0.5, stats.hitRate(), 0.001);
+    }
+
+    @Test
+    public void testEntryIsStaleAfterSoftTtl() {
+        cache.put(HELSINKI, weatherFor(HELSINKI));
+
+        clock.advance(Duration.ofMinutes(59));
+        assertFalse(cache.isStale(cache.get(HELSINKI).orElseThrow()));
+
+        clock.advance(Duration.ofMinutes(1));
+        var stale = cache.get(HELSINKI).orElseThrow();
+        assertTrue(cache.isStale(stale));
+        assertEquals(1, cache.stats().staleHits());
+    }
+
+    @Test
+    public void testTimeToStaleOnlyForCachedForecast() {
+        var data = weatherFor(HELSINKI);
+        cache.put(HELSINKI, data);
+
+        clock.advance(Duration.ofMinutes(45));
+        assertEquals(Duration.ofMinutes(15), cache.timeToStale(HELSINKI, data).orElseThrow());
+        assertTrue(cache.timeToStale(HELSINKI, weatherFor(HELSINKI)).isEmpty());
+
+        clock.advance(Duration.ofMinutes(30));
+        assertEquals(Duration.ZERO, cache.timeToStale(HELSINKI, data).orElseThrow());
+        assertEquals(0, cache.stats().hits());
+    }
+
+    @Test
+    public void testEntryExpiresAfterHardTtl() {
+        var data = weatherFor(HELSINKI);
+        cache.put(HELSINKI, data);
+
+        clock.advance(Duration.ofHours(3).minusSeconds(1));
+        assertTrue(cache.get(HELSINKI).isPresent());
+
+        clock.advance(Duration.ofSeconds(1));
+        assertTrue(cache.get(HELSINKI).isEmpty());
+        // Kept as the last known forecast
+        assertSame(data, cache.peek(HELSINKI).orElseThrow().data());
+        assertEquals(0, cache.stats().evictions());
+        assertEquals(1, cache.stats().size());
+    }
+
+    @Test
+    public void testSizeBoundEvictsExpiredEntryFirst() {
+        cache.put(HELSINKI, weatherFor(HELSINKI));
+        clock.advance(Duration.ofHours(3));
+        cache.put(TURKU, weatherFor(TURKU));
+        cache.put(OULU, weatherFor(OULU));
+
+        assertEquals(2, cache.stats().size());
+        assertEquals(1, cache.stats().evictions());
+        assertTrue(cache.peek(HELSINKI).isEmpty());
+        assertTrue(cache.get(TURKU).isPresent());
+        assertTrue(cache.get(OULU).isPresent());
+    }
+
+    @Test
+    public void testSizeBoundEvictsSoonestExpiringEntry() {
+        cache.put(HELSINKI, weatherFor(HELSINKI));
+        clock.advance(Duration.ofMinutes(10));
+        cache.put(TURKU, weatherFor(TURKU));
+        clock.advance(Duration.ofMinutes(10));
+        cache.put(OULU, weatherFor(OULU));
+
+        assertEquals(2, cache.stats().size());
+        assertEquals(1, cache.stats().evictions());
+        assertTrue(cache.get(HELSINKI).isEmpty());
+        assertTrue(cache.get(TURKU).isPresent());
+        assertTrue(cache.get(OULU).isPresent());
+    }
+
+    private static WeatherData weatherFor(City city) {
+        return new WeatherData(city.name(), city.latitude(), city.longitude(),
+                List.of(new WeatherData.HourlyWeather("2025-09-05T12:00", 18.5, 0)));
+    }
+}
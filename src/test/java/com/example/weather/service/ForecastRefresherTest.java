@@ -0,0 +1,114 @@
+package com.example.weather.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+import static com.example.weather.service.ExecutionStrategyTest.reactiveExecution;
+import static com.example.weather.service.HedgingPolicyTest.noHedging;
+import static com.example.weather.service.UpstreamCircuitBreakerTest.disabledCircuitBreaker;
+import static com.example.weather.service.UpstreamRateLimiterTest.noRateLimit;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ForecastRefresherTest {
+
+    private final CityService cityService = new CityService();
+    private StubOpenMeteoClient client;
+    private ForecastCache cache;
+    private ForecastRefresher refresher;
+
+    @BeforeEach
+    public void setUp() {
+        client = new StubOpenMeteoClient(Duration.ofMillis(10));
+
+        cache = new ForecastCache();
+        cache.softTtl = Duration.ofMillis(600);
+        cache.hardTtl = Duration.ofSeconds(10);
+        cache.maxSize = 100;
+
+        var service = new WeatherService();
+        service.cityService = cityService;
+        service.forecastCache = cache;
+        service.openMeteoClient = client;
+        service.executionStrategy = reactiveExecution();
+        service.circuitBreaker = disabledCircuitBreaker();
+        service.hedgingPolicy = noHedging();
+        service.rateLimiter = noRateLimit();
+        service.requestLog = new RequestLog();
+        service.batchingEnabled = false;
+
+        refresher = new ForecastRefresher();
+        refresher.weatherService = service;
+        refresher.cityService = cityService;
+        refresher.forecastCache = cache;
+        refresher.enabled = true;
+        refresher.lead = Duration.ofMillis(200);
+        refresher.jitter = Duration.ofMillis(50);
+        refresher.retryDelay = Duration.ofMillis(100);
+        refresher.useMockService = false;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        refresher.shutdown();
+    }
+
+    @Test
+    public void testForecastsAreRefreshedBeforeTheyTurnStale() {
+        refresher.start();
+        awaitTrue(() -> cache.stats().size() == 8, "Initial fetch did not complete");
+
+        // Two more refresh rounds; the entries must never be seen stale in between
+        var deadline = System.nanoTime() + Duration.ofMillis(1_000).toNanos();
+        while (System.nanoTime() < deadline) {
+            for (var city : cityService.getAllCities().values()) {
+                cache.peek(city).ifPresent(entry -> assertFalse(cache.isStale(entry), city + " went stale"));
+            }
+            Thread.onSpinWait();
+        }
+
+        var stats = refresher.stats();
+        assertEquals(8, stats.cities());
+        assertTrue(stats.refreshes() >= 16, "Expected at least two refresh rounds, got " + stats.refreshes());
+        assertEquals(0, stats.failures());
+        assertEquals(0, stats.lateRefreshes());
+    }
+
+    @Test
+    public void testFailedRefreshIsRetried() {
+        client.setFailing(true);
+        refresher.start();
+        awaitTrue(() -> refresher.stats().failures() >= 16, "Failed refreshes were not retried");
+        assertEquals(0, cache.stats().size());
+
+        client.setFailing(false);
+        awaitTrue(() -> cache.stats().size() == 8, "Refresh did not recover");
+    }
+
+    @Test
+    public void testDisabledForMockService() throws InterruptedException {
+        refresher.useMockService = true;
+        refresher.start();
+
+        Thread.sleep(100);
+        assertEquals(0, client.invocations());
+        assertEquals(0, refresher.stats().refreshes());
+    }
+
+    @Test
+    public void testDisabledWhenDueAsSoonAsFetched() {
+        refresher.lead = Duration.ofMillis(550);
+        refresher.start();
+
+        assertEquals(0, refresher.stats().cities());
+    }
+
+    private static void awaitTrue(BooleanSupplier condition, String message) {
+        var deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, message);
+            Thread.onSpinWait();
+        }
+    }
+}
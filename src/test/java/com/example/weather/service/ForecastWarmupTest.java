@@ -0,0 +1,111 @@
+package com.example.weather.service;
+
+import com.example.weather.model.WarmupStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import static com.example.weather.service.ExecutionStrategyTest.reactiveExecution;
+import static com.example.weather.service.HedgingPolicyTest.noHedging;
+import static com.example.weather.service.UpstreamCircuitBreakerTest.disabledCircuitBreaker;
+import static com.example.weather.service.UpstreamRateLimiterTest.noRateLimit;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ForecastWarmupTest {
+
+    private final CityService cityService = new CityService();
+    private StubOpenMeteoClient client;
+    private ForecastBatcher batcher;
+    private ForecastCache cache;
+    private ForecastWarmup warmup;
+
+    @BeforeEach
+    public void setUp() {
+        client = new StubOpenMeteoClient(Duration.ZERO);
+        batcher = new ForecastBatcher();
+        // The batch is sent once every city has been queued, never when a window closes
+        batcher.window = Duration.ofHours(1);
+        batcher.maxSize = cityService.getAllCities().size();
+        batcher.openMeteoClient = client;
+        batcher.executionStrategy = reactiveExecution();
+        batcher.circuitBreaker = disabledCircuitBreaker();
+        batcher.hedgingPolicy = noHedging();
+        batcher.rateLimiter = noRateLimit();
+        batcher.init();
+
+        cache = new ForecastCache();
+        cache.softTtl = Duration.ofHours(1);
+        cache.hardTtl = Duration.ofHours(3);
+        cache.maxSize = 100;
+
+        var service = new WeatherService();
+        service.cityService = cityService;
+        service.forecastCache = cache;
+        service.openMeteoClient = client;
+        service.forecastBatcher = batcher;
+        service.executionStrategy = reactiveExecution();
+        service.circuitBreaker = disabledCircuitBreaker();
+        service.hedgingPolicy = noHedging();
+        service.rateLimiter = noRateLimit();
+        service.requestLog = new RequestLog();
+        service.batchingEnabled = true;
+
+        warmup = new ForecastWarmup();
+        warmup.weatherService = service;
+        warmup.cityService = cityService;
+        warmup.enabled = true;
+        warmup.timeout = Duration.ofSeconds(5);
+        warmup.useMockService = false;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        client.releaseResponses();
+        batcher.shutdown();
+    }
+
+    @Test
+    public void testAllCitiesAreWarmedWithOneBatchedCall() {
+        client.holdResponses();
+        warmup.start();
+        assertFalse(warmup.stats().isFinished());
+        client.releaseResponses();
+
+        var stats = awaitFinished();
+        assertEquals(WarmupStats.State.COMPLETED, stats.state());
+        assertEquals(8, stats.cities());
+        assertEquals(8, stats.warmed());
+        assertNotNull(stats.durationMillis());
+        assertEquals(1, client.batchInvocations());
+        assertEquals(8, cache.stats().size());
+    }
+
+    @Test
+    public void testSlowUpstreamTimesOut() {
+        client.holdResponses();
+        warmup.timeout = Duration.ofMillis(10);
+        warmup.start();
+
+        var stats = awaitFinished();
+        assertEquals(WarmupStats.State.TIMED_OUT, stats.state());
+        assertTrue(stats.isFinished());
+    }
+
+    @Test
+    public void testSkippedForMockService() {
+        warmup.useMockService = true;
+        warmup.start();
+
+        assertEquals(WarmupStats.State.SKIPPED, warmup.stats().state());
+        assertEquals(0, client.invocations());
+    }
+
+    private WarmupStats awaitFinished() {
+        var deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!warmup.stats().isFinished()) {
+            assertTrue(System.nanoTime() < deadline, "Warm-up did not finish");
+            Thread.onSpinWait();
+        }
+        return warmup.stats();
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.weather.service;
+
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HedgingPolicyTest {
+
+    private HedgingPolicy policy;
+
+    static HedgingPolicy noHedging() {
+        var policy = new HedgingPolicy();
+        policy.enabled = false;
+        return policy;
+    }
+
+    @BeforeEach
+    public void setUp() {
+        policy = new HedgingPolicy();
+        policy.enabled = true;
+        policy.percentile = 95;
+        policy.minDelay = Duration.ofMillis(50);
+    }
+
+    @Test
+    public void testFastCallIsNotHedged() {
+        var attempts = new Attempts(Duration.ofMillis(5));
+
+        assertEquals("attempt 1", call(attempts));
+        assertEquals(1, attempts.started());
+        assertEquals(0, policy.stats().hedged());
+    }
+
+    @Test
+    public void testHedgeAnswersForStraggler() {
+        var attempts = new Attempts(Duration.ofSeconds(5), Duration.ofMillis(5));
+
+        var started = System.nanoTime();
+        assertEquals("attempt 2", call(attempts));
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).compareTo(Duration.ofSeconds(1)) < 0);
+        assertEquals(1, attempts.cancelled());
+
+        var stats = policy.stats();
+        assertEquals(1, stats.calls());
+        assertEquals(1, stats.hedged());
+        assertEquals(1, stats.hedgeWins());
+    }
+
+    @Test
+    public void testOriginalCallCanStillWin() {
+        var attempts = new Attempts(Duration.ofMillis(100), Duration.ofSeconds(5));
+
+        assertEquals("attempt 1", call(attempts));
+        assertEquals(2, attempts.started());
+        assertEquals(1, attempts.cancelled());
+        assertEquals(1, policy.stats().hedged());
+        assertEquals(0, policy.stats().hedgeWins());
+    }
+
+    @Test
+    public void testFailureBeforeDelayIsNotHedged() {
+        var failure = assertThrows(CompletionException.class, () -> policy.call(
+                () -> Uni.createFrom().<String>failure(new IllegalStateException("down")))
+                .subscribeAsCompletionStage().join());
+
+        assertEquals("down", failure.getCause().getMessage());
+        assertEquals(0, policy.stats().hedged());
+    }
+
+    @Test
+    public void testHedgeCoversFailingOriginal() {
+        var attempts = new AtomicInteger();
+        var result = policy.call(() -> attempts.incrementAndGet() == 1
+                ? Uni.createFrom().<String>failure(new IllegalStateException("down")).onFailure().call(
+                        () -> Uni.createFrom().voidItem().onItem().delayIt().by(Duration.ofMillis(100)))
+                : Uni.createFrom().item("hedge").onItem().delayIt().by(Duration.ofMillis(100)));
+
+        assertEquals("hedge", result.subscribeAsCompletionStage().join());
+    }
+
+    @Test
+    public void testDelayFollowsLatencyPercentile() {
+        assertEquals(Duration.ofMillis(50), policy.delay());
+
+        for (int millis = 1; millis <= 320; millis++) {
+            policy.recordLatency(Duration.ofMillis(millis).toNanos());
+        }
+        assertEquals(Duration.ofMillis(304), policy.delay());
+
+        // Never below the minimum delay
+        for (int i = 0; i < 512; i++) {
+            policy.recordLatency(Duration.ofMillis(1).toNanos());
+        }
+        assertEquals(Duration.ofMillis(50), policy.delay());
+    }
+
+    private String call(Supplier<Uni<String>> upstream) {
+        return policy.call(upstream).subscribeAsCompletionStage().join();
+    }
+
+    /**
+     * Upstream whose n-th call answers "attempt n" after the n-th latency.
+     */
+    private static class Attempts implements Supplier<Uni<String>> {
+
+        private final List<Duration> latencies;
+        private final AtomicInteger started = new AtomicInteger();
+        private final AtomicInteger cancelled = new AtomicInteger();
+
+        Attempts(Duration... latencies) {
+            this.latencies = List.of(latencies);
+        }
+
+        @Override
+        public Uni<String> get() {
+            var attempt = started.incrementAndGet();
+            return Uni.createFrom().item("attempt " + attempt)
+                    .onItem().delayIt().by(latencies.get(attempt - 1))
+                    .onCancellation().invoke(cancelled::incrementAndGet);
+        }
+
+        int started() {
+            return started.get();
+        }
+
+        int cancelled() {
+            return cancelled.get();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.weather.service;
+
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KdTreeTest {
+
+    @Test
+    public void testMatchesBruteForce() {
+        var random = new SplittableRandom(7);
+        var latitudes = random.doubles(5_000, -90, 90).toArray();
+        var longitudes = random.doubles(5_000, -180, 180).toArray();
+        var tree = new KdTree(latitudes, longitudes);
+
+        for (int query = 0; query < 200; query++) {
+            var latitude = random.nextDouble(-90, 90);
+            var longitude = random.nextDouble(-180, 180);
+            var expected = IntStream.range(0, latitudes.length).boxed()
+                    .sorted(Comparator.comparingDouble(i -> haversineKm(latitude, longitude, latitudes[i], longitudes[i])))
+                    .limit(10)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+
+            var nearest = tree.nearest(latitude, longitude, 10);
+            assertArrayEquals(expected, nearest.ids(), "Query " + latitude + ", " + longitude);
+            assertEquals(haversineKm(latitude, longitude, latitudes[expected[0]], longitudes[expected[0]]),
+                    nearest.distancesKm()[0], 1e-6);
+        }
+    }
+
+    @Test
+    public void testNearestAcrossAntimeridianAndPole() {
+        var tree = new KdTree(new double[] {0, 0, 89.5, 89.9}, new double[] {179.9, 170, 0, 180});
+
+        assertArrayEquals(new int[] {0, 1}, tree.nearest(0, -179.9, 2).ids());
+        assertEquals(22.2, tree.nearest(0, -179.9, 1).distancesKm()[0], 0.1);
+        assertArrayEquals(new int[] {3, 2}, tree.nearest(90, 0, 2).ids());
+    }
+
+    @Test
+    public void testLimitBeyondSize() {
+        var tree = new KdTree(new double[] {60, 61}, new double[] {25, 25});
+
+        assertEquals(2, tree.nearest(60, 25, 5).ids().length);
+        assertEquals(0, new KdTree(new double[0], new double[0]).nearest(60, 25, 5).ids().length);
+    }
+
+    @Test
+    public void testDuplicatePoints() {
+        var latitudes = new double[100];
+        var longitudes = new double[100];
+        Arrays.fill(latitudes, 60.1699);
+        Arrays.fill(longitudes, 24.9384);
+        latitudes[42] = 65.0121;
+
+        var nearest = new KdTree(latitudes, longitudes).nearest(65, 25.5, 1);
+        assertArrayEquals(new int[] {42}, nearest.ids());
+    }
+
+    private static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        var dLat = Math.toRadians(lat2 - lat1);
+        var dLon = Math.toRadians(lon2 - lon1);
+        var a = Math.pow(Math.sin(dLat / 2), 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.pow(Math.sin(dLon / 2), 2);
+        return 2 * KdTree.EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.weather.service;
+
+import com.example.weather.model.City;
+import com.example.weather.model.WeatherData;
+import org.junit.jupiter.api.Test;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MockWeatherServiceTest {
+
+    private static final City HELSINKI = new City("Helsinki", 60.1699, 24.9384);
+    private static final City OULU = new City("Oulu", 65.0121, 25.4651);
+
+    @Test
+    public void testSeededForecastsAreReproducible() {
+        var first = seeded(42);
+        var second = seeded(42);
+
+        assertEquals(values(first.generateMockWeatherData(HELSINKI)), values(second.generateMockWeatherData(HELSINKI)));
+        assertNotEquals(values(first.generateMockWeatherData(HELSINKI)), values(first.generateMockWeatherData(OULU)));
+        assertNotEquals(values(first.generateMockWeatherData(HELSINKI)), values(seeded(43).generateMockWeatherData(HELSINKI)));
+        // Places sharing a name
+        assertNotEquals(values(first.generateMockWeatherData(new City("Springfield", 39.80172, -89.64371))),
+                values(first.generateMockWeatherData(new City("Springfield", 37.21533, -93.29824))));
+    }
+
+    @Test
+    public void testSeededForecastsDoNotDependOnTimeZone() {
+        var instant = Instant.parse("2026-01-01T10:15:00Z");
+        var utc = seeded(42);
+        utc.clock = Clock.fixed(instant, ZoneOffset.UTC);
+        var helsinki = seeded(42);
+        helsinki.clock = Clock.fixed(instant, ZoneId.of("Europe/Helsinki"));
+
+        var forecast = utc.generateMockWeatherData(HELSINKI);
+        assertEquals("2026-01-01T10:15", forecast.hourlyWeather().getFirst().time());
+        assertEquals(forecast.hourlyWeather(), helsinki.generateMockWeatherData(HELSINKI).hourlyWeather());
+    }
+
+    @Test
+    public void testUnseededForecastsVary() {
+        var service = new MockWeatherService();
+
+        var forecast = service.generateMockWeatherData(HELSINKI);
+        assertEquals(24, forecast.hourlyWeather().size());
+        assertNotEquals(values(forecast), values(service.generateMockWeatherData(HELSINKI)));
+    }
+
+    @Test
+    public void testPrecomputedForecastIsServedForTheHour() {
+        var clock = new MutableClock(Instant.parse("2026-01-01T10:15:00Z"));
+        var service = new MockWeatherService();
+        service.precomputed = true;
+        service.clock = clock;
+
+        var forecast = service.forecastFor(HELSINKI);
+        assertEquals("2026-01-01T10:00", forecast.hourlyWeather().getFirst().time());
+        assertEquals(Duration.ofMinutes(45), service.freshFor());
+
+        clock.advance(Duration.ofMinutes(30));
+        assertSame(forecast, service.forecastFor(HELSINKI));
+        assertNotSame(forecast, service.forecastFor(OULU));
+
+        clock.advance(Duration.ofMinutes(30));
+        var nextHour = service.forecastFor(HELSINKI);
+        assertNotSame(forecast, nextHour);
+        assertEquals("2026-01-01T11:00", nextHour.hourlyWeather().getFirst().time());
+    }
+
+    @Test
+    public void testPrecomputedForecastsAreCapped() {
+        var service = new MockWeatherService();
+        service.precomputed = true;
+        service.maxTables = 1;
+
+        var forecast = service.forecastFor(HELSINKI);
+        assertSame(forecast, service.forecastFor(HELSINKI));
+        // Beyond the cap a forecast is generated for every request
+        var oulu = service.forecastFor(OULU);
+        assertNotSame(oulu, service.forecastFor(OULU));
+        assertEquals(forecast.hourlyWeather().getFirst().time(), oulu.hourlyWeather().getFirst().time());
+    }
+
+    private static MockWeatherService seeded(long seed) {
+        var service = new MockWeatherService();
+        service.seed = Optional.of(seed);
+        return service;
+    }
+
+    /**
+     * Temperatures and weather codes, leaving out the timestamps, which follow the clock.
+     */
+    private static List<String> values(WeatherData forecast) {
+        return forecast.hourlyWeather().stream()
+                .map(hour -> hour.temperature() + "/" + hour.weatherCode())
+                .toList();
+    }
+}
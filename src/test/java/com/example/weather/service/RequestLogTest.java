@@ -0,0 +1,30 @@
+package com.example.weather.service;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestLogTest {
+
+    @Test
+    public void testSummaryResetsCounts() {
+        var requestLog = new RequestLog();
+        requestLog.sampleRate = 1;
+
+        requestLog.lookup("helsinki");
+        requestLog.lookup("atlantis");
+        requestLog.unknownCity();
+
+        assertTrue(requestLog.logSummary());
+        assertFalse(requestLog.logSummary(), "Counts were not reset");
+    }
+
+    @Test
+    public void testNoSummaryWithoutRequests() {
+        var requestLog = new RequestLog();
+
+        assertFalse(requestLog.logSummary());
+
+        requestLog.upstreamFetch();
+        assertTrue(requestLog.logSummary());
+    }
+}
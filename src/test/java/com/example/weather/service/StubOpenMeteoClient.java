@@ -0,0 +1,152 @@
+package com.example.weather.service;
+
+import com.example.weather.model.HourlySeries;
+import com.example.weather.model.WeatherResponse;
+import io.smallrye.mutiny.Uni;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory {@link OpenMeteoClient} that counts invocations and simulates upstream latency.
+ */
+class StubOpenMeteoClient implements OpenMeteoClient {
+
+    private final AtomicInteger invocations = new AtomicInteger();
+    private final AtomicInteger batchInvocations = new AtomicInteger();
+    private final Duration latency;
+    private volatile boolean failing;
+    private volatile CompletableFuture<Void> gate = CompletableFuture.completedFuture(null);
+
+    StubOpenMeteoClient(Duration latency) {
+        this.latency = latency;
+    }
+
+    /**
+     * While failing, every request still counts as an invocation but ends in an error.
+     */
+    void setFailing(boolean failing) {
+        this.failing = failing;
+    }
+
+    /**
+     * Holds back the responses of asynchronous requests, which still count as invocations
+     * when they are sent, until {@link #releaseResponses()}.
+     */
+    void holdResponses() {
+        gate = new CompletableFuture<>();
+    }
+
+    /**
+     * Delivers the held responses on the calling thread; with no latency, callbacks on them
+     * have run by the time this returns.
+     */
+    void releaseResponses() {
+        gate.complete(null);
+    }
+
+    /**
+     * Total number of upstream requests, single and batched.
+     */
+    int invocations() {
+        return invocations.get();
+    }
+
+    int batchInvocations() {
+        return batchInvocations.get();
+    }
+
+    @Override
+    public WeatherResponse getWeatherData(double latitude, double longitude, String hourly, String timezone, int forecastHours) {
+        invocations.incrementAndGet();
+        sleep(latency);
+        checkFailing();
+        return responseFor(latitude, longitude);
+    }
+
+    @Override
+    public List<WeatherResponse> getWeatherDataBatch(String latitudes, String longitudes, String hourly, String timezone, int forecastHours) {
+        invocations.incrementAndGet();
+        batchInvocations.incrementAndGet();
+        sleep(latency);
+        checkFailing();
+        var lats = parseCoordinates(latitudes);
+        var lons = parseCoordinates(longitudes);
+        return IntStream.range(0, lats.length)
+                .mapToObj(i -> responseFor(lats[i], lons[i]))
+                .toList();
+    }
+
+    @Override
+    public Uni<WeatherResponse> getWeatherDataAsync(double latitude, double longitude, String hourly, String timezone, int forecastHours) {
+        return delayed(Uni.createFrom().item(() -> {
+            invocations.incrementAndGet();
+            checkFailing();
+            return responseFor(latitude, longitude);
+        }));
+    }
+
+    @Override
+    public Uni<List<WeatherResponse>> getWeatherDataBatchAsync(String latitudes, String longitudes, String hourly, String timezone, int forecastHours) {
+        return delayed(Uni.createFrom().item(() -> {
+            invocations.incrementAndGet();
+            batchInvocations.incrementAndGet();
+            checkFailing();
+            var lats = parseCoordinates(latitudes);
+            var lons = parseCoordinates(longitudes);
+            return IntStream.range(0, lats.length)
+                    .mapToObj(i -> responseFor(lats[i], lons[i]))
+                    .toList();
+        }));
+    }
+
+    /**
+     * Simulates latency with a timer instead of a sleeping thread, like a non-blocking HTTP client.
+     */
+    private <T> Uni<T> delayed(Uni<T> response) {
+        var current = gate;
+        var held = current.isDone() ? response : response.onItem().call(() -> Uni.createFrom().completionStage(current));
+        return latency.isZero() ? held : held.onItem().delayIt().by(latency);
+    }
+
+    private void checkFailing() {
+        if (failing) {
+            throw new IllegalStateException("Simulated upstream failure");
+        }
+    }
+
+    private static double[] parseCoordinates(String coordinates) {
+        return Arrays.stream(coordinates.split(","))
+                .mapToDouble(Double::parseDouble)
+                .toArray();
+    }
+
+    static WeatherResponse responseFor(double latitude, double longitude) {
+        var start = HourlySeries.toEpochSecond(LocalDateTime.parse("2025-09-05T12:00"));
+        var hourly = new WeatherResponse.HourlyData(HourlySeries.builder(3)
+                .add(start, 18.5, 0)
+                .add(start + 3_600, 19.0, 1)
+                .add(start + 7_200, 19.5, 2)
+                .build());
+
+        var response = new WeatherResponse();
+        response.setLatitude(latitude);
+        response.setLongitude(longitude);
+        response.setTimezone("Europe/Helsinki");
+        response.setHourly(hourly);
+        return response;
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while simulating upstream latency", e);
+        }
+    }
+}
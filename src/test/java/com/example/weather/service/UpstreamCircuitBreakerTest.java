@@ -0,0 +1,164 @@
+package com.example.weather.service;
+
+import com.example.weather.model.CircuitBreakerStats.State;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import jakarta.ws.rs.WebApplicationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UpstreamCircuitBreakerTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-09-05T12:00:00Z"));
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private UpstreamCircuitBreaker breaker;
+
+    static UpstreamCircuitBreaker disabledCircuitBreaker() {
+        var breaker = new UpstreamCircuitBreaker();
+        breaker.enabled = false;
+        return breaker;
+    }
+
+    @BeforeEach
+    public void setUp() {
+        breaker = new UpstreamCircuitBreaker();
+        breaker.enabled = true;
+        breaker.failureThreshold = 3;
+        breaker.openDuration = Duration.ofSeconds(30);
+        breaker.halfOpenProbes = 1;
+        breaker.clock = clock;
+    }
+
+    @Test
+    public void testOpensAfterConsecutiveFailures() {
+        repeat(3, this::fail);
+        assertEquals(State.OPEN, breaker.stats().state());
+        assertEquals(1, breaker.stats().opened());
+
+        var rejected = assertThrows(CompletionException.class, this::succeed);
+        assertInstanceOf(UpstreamUnavailableException.class, rejected.getCause());
+        assertEquals(3, upstreamCalls.get());
+        assertEquals(1, breaker.stats().rejected());
+    }
+
+    @Test
+    public void testSuccessResetsFailureCount() {
+        repeat(2, this::fail);
+        succeed();
+        repeat(2, this::fail);
+
+        assertEquals(State.CLOSED, breaker.stats().state());
+        assertEquals(2, breaker.stats().consecutiveFailures());
+    }
+
+    @Test
+    public void testClientErrorsDoNotOpenCircuit() {
+        repeat(5, () -> assertThrows(CompletionException.class,
+                () -> call(Uni.createFrom().failure(new WebApplicationException(404)))));
+
+        assertEquals(State.CLOSED, breaker.stats().state());
+        assertEquals(0, breaker.stats().consecutiveFailures());
+    }
+
+    @Test
+    public void testCallsNotSentDoNotCount() {
+        repeat(5, () -> assertThrows(CompletionException.class,
+                () -> call(Uni.createFrom().failure(new UpstreamUnavailableException("budget exhausted")))));
+        assertEquals(State.CLOSED, breaker.stats().state());
+
+        repeat(3, this::fail);
+        clock.advance(Duration.ofSeconds(30));
+        // A probe that was not sent leaves its slot to the next call
+        assertThrows(CompletionException.class,
+                () -> call(Uni.createFrom().failure(new UpstreamUnavailableException("budget exhausted"))));
+        assertEquals("ok", succeed());
+        assertEquals(State.CLOSED, breaker.stats().state());
+    }
+
+    @Test
+    public void testSuccessfulProbeClosesCircuit() {
+        repeat(3, this::fail);
+        clock.advance(Duration.ofSeconds(30));
+
+        // Only one probe is let through while it is in flight
+        var probe = new AtomicReference<UniEmitter<? super String>>();
+        var probeResult = breaker.call(() -> {
+            upstreamCalls.incrementAndGet();
+            return Uni.createFrom().<String>emitter(probe::set);
+        }).subscribeAsCompletionStage();
+        assertEquals(State.HALF_OPEN, breaker.stats().state());
+        assertThrows(CompletionException.class, this::succeed);
+
+        probe.get().complete("probe");
+        assertEquals("probe", probeResult.join());
+        assertEquals(State.CLOSED, breaker.stats().state());
+        assertEquals("ok", succeed());
+        assertEquals(5, upstreamCalls.get());
+    }
+
+    @Test
+    public void testFailedProbeReopensCircuit() {
+        repeat(3, this::fail);
+        clock.advance(Duration.ofSeconds(30));
+        fail();
+
+        assertEquals(State.OPEN, breaker.stats().state());
+        assertEquals(2, breaker.stats().opened());
+        assertThrows(CompletionException.class, this::succeed);
+
+        clock.advance(Duration.ofSeconds(30));
+        assertEquals("ok", succeed());
+        assertEquals(State.CLOSED, breaker.stats().state());
+    }
+
+    @Test
+    public void testLateResultOfEarlierPhaseIsIgnored() {
+        var slow = new AtomicReference<UniEmitter<? super String>>();
+        var slowResult = breaker.call(() -> Uni.createFrom().<String>emitter(slow::set)).subscribeAsCompletionStage();
+        repeat(3, this::fail);
+        clock.advance(Duration.ofSeconds(30));
+        succeed();
+
+        // A failure of a call started before the circuit opened does not count against the new phase
+        slow.get().fail(new IllegalStateException("late"));
+        assertThrows(CompletionException.class, slowResult::join);
+        assertEquals(State.CLOSED, breaker.stats().state());
+        assertEquals(0, breaker.stats().consecutiveFailures());
+    }
+
+    @Test
+    public void testDisabledBreakerPassesCallsThrough() {
+        breaker = disabledCircuitBreaker();
+        repeat(10, this::fail);
+
+        assertEquals("ok", succeed());
+        assertEquals(State.CLOSED, breaker.stats().state());
+    }
+
+    private String succeed() {
+        return call(Uni.createFrom().item("ok"));
+    }
+
+    private void fail() {
+        assertThrows(CompletionException.class, () -> call(Uni.createFrom().failure(new IllegalStateException("down"))));
+    }
+
+    private String call(Uni<String> upstream) {
+        return breaker.call(() -> {
+            upstreamCalls.incrementAndGet();
+            return upstream;
+        }).subscribeAsCompletionStage().join();
+    }
+
+    private static void repeat(int times, Runnable action) {
+        for (int i = 0; i < times; i++) {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.weather.service;
+
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UpstreamRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+    private UpstreamRateLimiter limiter;
+
+    static UpstreamRateLimiter noRateLimit() {
+        var limiter = new UpstreamRateLimiter();
+        limiter.enabled = false;
+        return limiter;
+    }
+
+    @BeforeEach
+    public void setUp() {
+        limiter = new UpstreamRateLimiter();
+        limiter.enabled = true;
+        limiter.permitsPerSecond = 10;
+        limiter.burst = 5;
+        limiter.maxWait = Duration.ofMillis(250);
+        limiter.nanoClock = now::get;
+    }
+
+    @Test
+    public void testBurstThenDelayThenReject() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.reserve(1), "Burst permit " + i);
+        }
+        // One permit every 100 ms after the burst, waiting at most 250 ms
+        assertEquals(millis(100), limiter.reserve(1));
+        assertEquals(millis(200), limiter.reserve(1));
+        assertEquals(-1, limiter.reserve(1));
+        assertEquals(0, limiter.stats().availablePermits(), 1e-9);
+    }
+
+    @Test
+    public void testMaxPermitsIsTheMostOneRequestCanTake() {
+        // Burst of 5 plus 2 refilled within the 250 ms wait
+        assertEquals(7, limiter.maxPermits());
+        assertEquals(-1, limiter.reserve(8));
+        assertEquals(millis(200), limiter.reserve(7));
+        assertEquals(Integer.MAX_VALUE, noRateLimit().maxPermits());
+    }
+
+    @Test
+    public void testPermitsRefillOverTime() {
+        IntStream.range(0, 5).forEach(i -> limiter.reserve(1));
+
+        advance(Duration.ofMillis(350));
+        assertEquals(3.5, limiter.stats().availablePermits(), 1e-9);
+        assertEquals(0, limiter.reserve(3));
+
+        advance(Duration.ofSeconds(10));
+        assertEquals(5, limiter.stats().availablePermits(), 1e-9);
+    }
+
+    @Test
+    public void testBatchTakesOnePermitPerLocation() {
+        assertEquals(0, limiter.reserve(4));
+        assertEquals(millis(100), limiter.reserve(2));
+        assertEquals(-1, limiter.reserve(3));
+    }
+
+    @Test
+    public void testConcurrentCallersNeverExceedBudget() throws Exception {
+        limiter.maxWait = Duration.ZERO;
+        limiter.burst = 1_000;
+        int callers = 8;
+        var granted = new LongAdder();
+        var start = new CountDownLatch(1);
+
+        try (var executor = Executors.newFixedThreadPool(callers)) {
+            for (int i = 0; i < callers; i++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < 500; j++) {
+                        if (limiter.reserve(1) == 0) {
+                            granted.increment();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+
+        assertEquals(1_000, granted.sum());
+    }
+
+    @Test
+    public void testShedCallDoesNotReachUpstream() {
+        limiter.maxWait = Duration.ZERO;
+        limiter.burst = 1;
+        var upstreamCalls = new AtomicInteger();
+
+        assertEquals("ok", call(upstreamCalls));
+        var shed = assertThrows(CompletionException.class, () -> call(upstreamCalls));
+
+        assertInstanceOf(UpstreamUnavailableException.class, shed.getCause());
+        assertEquals(1, upstreamCalls.get());
+        var stats = limiter.stats();
+        assertEquals(1, stats.acquired());
+        assertEquals(1, stats.rejected());
+    }
+
+    @Test
+    public void testDelayedCallWaitsForPermit() {
+        limiter.nanoClock = System::nanoTime;
+        limiter.burst = 1;
+        var upstreamCalls = new AtomicInteger();
+
+        call(upstreamCalls);
+        var started = System.nanoTime();
+        assertEquals("ok", call(upstreamCalls));
+
+        assertTrue(System.nanoTime() - started >= millis(80), "Call was not delayed");
+        assertEquals(1, limiter.stats().delayed());
+    }
+
+    private String call(AtomicInteger upstreamCalls) {
+        return limiter.call(1, () -> {
+            upstreamCalls.incrementAndGet();
+            return Uni.createFrom().item("ok");
+        }).subscribeAsCompletionStage().join();
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+
+    private static long millis(long millis) {
+        return Duration.ofMillis(millis).toNanos();
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.weather.service;
+
+import com.example.weather.model.WeatherData;
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import static com.example.weather.service.ExecutionStrategyTest.reactiveExecution;
+import static com.example.weather.service.HedgingPolicyTest.noHedging;
+import static com.example.weather.service.UpstreamCircuitBreakerTest.disabledCircuitBreaker;
+import static com.example.weather.service.UpstreamRateLimiterTest.noRateLimit;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WeatherServiceTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-09-05T12:00:00Z"));
+    private StubOpenMeteoClient client;
+    private WeatherService service;
+
+    @BeforeAll
+    public static void initializeMutiny() {
+        // Context propagation is set up lazily and is not safe to initialize from many threads at once
+        Uni.createFrom().completionStage(CompletableFuture.completedFuture(0)).await().indefinitely();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        client = new StubOpenMeteoClient(Duration.ZERO);
+
+        var cache = new ForecastCache();
+        cache.softTtl = Duration.ofHours(1);
+        cache.hardTtl = Duration.ofHours(3);
+        cache.maxSize = 100;
+        cache.clock = clock;
+
+        service = new WeatherService();
+        service.cityService = new CityService();
+        service.forecastCache = cache;
+        service.openMeteoClient = client;
+        service.batchingEnabled = false;
+        service.executionStrategy = reactiveExecution();
+        service.circuitBreaker = disabledCircuitBreaker();
+        service.hedgingPolicy = noHedging();
+        service.rateLimiter = noRateLimit();
+        service.requestLog = new RequestLog();
+    }
+
+    @Test
+    public void testCachedForecastSkipsUpstream() {
+        var first = service.getWeatherByCityCode("helsinki");
+        var second = service.getWeatherByCityCode("HELSINKI");
+
+        assertTrue(first.isPresent());
+        assertSame(first.get(), second.orElseThrow());
+        assertEquals(1, client.invocations());
+    }
+
+    @Test
+    public void testConcurrentLookupsShareOneUpstreamCall() throws Exception {
+        int callers = 32;
+        var start = new CountDownLatch(1);
+        client.holdResponses();
+
+        List<CompletableFuture<Optional<WeatherData>>> results = new ArrayList<>();
+        try (var executor = Executors.newFixedThreadPool(callers)) {
+            var lookups = IntStream.range(0, callers)
+                    .mapToObj(i -> executor.submit(() -> {
+                        start.await();
+                        return service.getWeatherByCityCodeAsync("helsinki").subscribeAsCompletionStage();
+                    }))
+                    .toList();
+
+            start.countDown();
+            // Every lookup has started, and none can have completed, before the response arrives
+            for (var lookup : lookups) {
+                results.add(lookup.get());
+            }
+        }
+        client.releaseResponses();
+
+        var first = results.getFirst().join().orElseThrow();
+        for (var result : results) {
+            assertSame(first, result.join().orElseThrow());
+        }
+        assertEquals(1, client.invocations());
+    }
+
+    @Test
+    @Timeout(10) // Only guards against a lookup waiting for the held refresh
+    public void testStaleForecastIsServedWhileRefreshing() {
+        var original = service.getWeatherByCityCode("oulu").orElseThrow();
+        clock.advance(Duration.ofMinutes(61));
+        client.holdResponses();
+
+        // Stale entry is returned although the refresh cannot complete yet
+        assertSame(original, service.getWeatherByCityCode("oulu").orElseThrow());
+        assertEquals(2, client.invocations());
+        // The running refresh is not started again
+        assertSame(original, service.getWeatherByCityCode("oulu").orElseThrow());
+        assertEquals(2, client.invocations());
+
+        client.releaseResponses();
+        assertNotSame(original, service.getWeatherByCityCode("oulu").orElseThrow());
+        assertEquals(2, client.invocations());
+    }
+
+    @Test
+    public void testExpiredForecastBlocksOnUpstream() {
+        service.getWeatherByCityCode("oulu");
+        clock.advance(Duration.ofHours(3));
+
+        assertTrue(service.getWeatherByCityCode("oulu").isPresent());
+        assertEquals(2, client.invocations());
+    }
+
+    @Test
+    public void testExpiredForecastFallsBackToLastFetched() {
+        var original = service.getWeatherByCityCode("oulu").orElseThrow();
+        client.setFailing(true);
+        clock.advance(Duration.ofHours(3));
+
+        assertSame(original, service.getWeatherByCityCode("oulu").orElseThrow());
+        assertEquals(2, client.invocations());
+    }
+
+    @Test
+    public void testMockFallbackWithoutFetchedForecast() {
+        client.setFailing(true);
+        assertTrue(service.getWeatherByCityCode("oulu").isEmpty());
+
+        service.mockFallback = true;
+        service.mockWeatherService = new MockWeatherService();
+        assertEquals("Oulu", service.getWeatherByCityCode("oulu").orElseThrow().cityName());
+    }
+
+    @Test
+    public void testOpenCircuitFailsFastWithoutCallingUpstream() {
+        var breaker = new UpstreamCircuitBreaker();
+        breaker.enabled = true;
+        breaker.failureThreshold = 2;
+        breaker.openDuration = Duration.ofSeconds(30);
+        breaker.halfOpenProbes = 1;
+        breaker.clock = clock;
+        service.circuitBreaker = breaker;
+        client.setFailing(true);
+
+        assertTrue(service.getWeatherByCityCode("oulu").isEmpty());
+        assertTrue(service.getWeatherByCityCode("turku").isEmpty());
+        // Open: answered without an upstream call
+        assertTrue(service.getWeatherByCityCode("tampere").isEmpty());
+        assertEquals(2, client.invocations());
+
+        // The probe after the open duration finds the upstream recovered
+        client.setFailing(false);
+        clock.advance(Duration.ofSeconds(30));
+        assertTrue(service.getWeatherByCityCode("tampere").isPresent());
+        assertTrue(service.getWeatherByCityCode("turku").isPresent());
+        assertEquals(4, client.invocations());
+    }
+
+    @Test
+    public void testUnknownCityDoesNotCallUpstream() {
+        assertTrue(service.getWeatherByCityCode("nonexistent").isEmpty());
+        assertEquals(0, client.invocations());
+    }
+}